@@ -0,0 +1,76 @@
+package net.lenni0451.optconfig.benchmarks;
+
+import net.lenni0451.optconfig.ConfigLoader;
+import net.lenni0451.optconfig.benchmarks.generated.LargeConfig;
+import net.lenni0451.optconfig.benchmarks.generated.MediumConfig;
+import net.lenni0451.optconfig.benchmarks.generated.NestedConfig;
+import net.lenni0451.optconfig.benchmarks.generated.SmallConfig;
+import net.lenni0451.optconfig.provider.ConfigProvider;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The generated config classes which can be used as benchmark parameters.
+ */
+public enum BenchmarkConfig {
+
+    /**
+     * 10 options in a single class.
+     */
+    SMALL(SmallConfig.class, new String[]{"--option0", "5", "--option1", "Hello"}),
+    /**
+     * 1k options in a single class.
+     */
+    MEDIUM(MediumConfig.class, new String[]{"--option0", "5", "--option1", "Hello", "--option999", "a", "--option999", "b"}),
+    /**
+     * 50k options split into 50 sections.
+     */
+    LARGE(LargeConfig.class, new String[]{"--section0.option0", "5", "--section49.option1", "Hello", "--section25.option999", "a"}),
+    /**
+     * 8 levels of nested sections with 10 options each.
+     */
+    NESTED(NestedConfig.class, new String[]{"--option0", "5", "--level1.level2.level3.level4.level5.level6.level7.level8.option1", "Hello"});
+
+    private final Class<?> configClass;
+    private final String[] cliArgs;
+
+    BenchmarkConfig(final Class<?> configClass, final String[] cliArgs) {
+        this.configClass = configClass;
+        this.cliArgs = cliArgs;
+    }
+
+    public Class<?> getConfigClass() {
+        return this.configClass;
+    }
+
+    public String[] getCliArgs() {
+        return this.cliArgs;
+    }
+
+    /**
+     * Create a new config loader for the config class.
+     *
+     * @return The created config loader
+     */
+    public ConfigLoader<?> createLoader() {
+        return createLoader(this.configClass);
+    }
+
+    private static <C> ConfigLoader<C> createLoader(final Class<C> configClass) {
+        return new ConfigLoader<>(configClass);
+    }
+
+    /**
+     * Serialize the default values of the config class to yaml.
+     *
+     * @return The serialized config
+     * @throws IOException If an I/O error occurs
+     */
+    public byte[] createDefaultContent() throws IOException {
+        AtomicReference<byte[]> content = new AtomicReference<>();
+        this.createLoader().load(ConfigProvider.memory(() -> new byte[0], content::set));
+        return content.get();
+    }
+
+}
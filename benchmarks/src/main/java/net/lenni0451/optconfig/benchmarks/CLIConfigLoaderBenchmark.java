@@ -0,0 +1,48 @@
+package net.lenni0451.optconfig.benchmarks;
+
+import net.lenni0451.optconfig.CLIConfigLoader;
+import net.lenni0451.optconfig.ConfigContext;
+import net.lenni0451.optconfig.cli.model.LoadedOptions;
+import net.lenni0451.optconfig.exceptions.CLIParserException;
+import net.lenni0451.optconfig.provider.ConfigProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for parsing CLI options using the {@link CLIConfigLoader}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CLIConfigLoaderBenchmark {
+
+    @Param
+    private BenchmarkConfig config;
+
+    private CLIConfigLoader<?> cliLoader;
+
+    @Setup
+    public void setup() throws IOException {
+        ConfigContext<?> context = this.config.createLoader().load(ConfigProvider.empty());
+        this.cliLoader = new CLIConfigLoader<>(context);
+    }
+
+    @Benchmark
+    public LoadedOptions loadCLIOptions() throws CLIParserException {
+        return this.cliLoader.loadCLIOptions(this.config.getCliArgs(), true);
+    }
+
+    @Benchmark
+    public CLIConfigLoader<?> createAndLoadCLIOptions() throws IOException, CLIParserException {
+        ConfigContext<?> context = this.config.createLoader().load(ConfigProvider.empty());
+        CLIConfigLoader<?> cliLoader = new CLIConfigLoader<>(context);
+        cliLoader.loadCLIOptions(this.config.getCliArgs(), true);
+        return cliLoader;
+    }
+
+}
@@ -0,0 +1,55 @@
+package net.lenni0451.optconfig.benchmarks;
+
+import net.lenni0451.optconfig.ConfigLoader;
+import net.lenni0451.optconfig.access.ClassAccessFactory;
+import net.lenni0451.optconfig.access.impl.generated.GeneratedClassAccessFactory;
+import net.lenni0451.optconfig.access.impl.reflection.ReflectionClassAccess;
+import net.lenni0451.optconfig.benchmarks.generated.IndexConfig;
+import net.lenni0451.optconfig.index.ClassIndexer;
+import net.lenni0451.optconfig.index.ConfigType;
+import net.lenni0451.optconfig.index.types.ConfigIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for building the index of a config class using the class accesses generated by the annotation processor and reflection.<br>
+ * The index is not cached, so every invocation builds the index and the class accesses from scratch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClassIndexerBenchmark {
+
+    @Param
+    private Access access;
+
+    private ConfigLoader<IndexConfig> loader;
+
+    @Setup
+    public void setup() {
+        this.loader = new ConfigLoader<>(IndexConfig.class);
+        this.loader.getConfigOptions().setClassAccessFactory(this.access.factory).setCacheClassIndex(false);
+    }
+
+    @Benchmark
+    public ConfigIndex index() {
+        return ClassIndexer.getIndex(ConfigType.INSTANCED, this.loader);
+    }
+
+
+    public enum Access {
+        GENERATED(new GeneratedClassAccessFactory(ReflectionClassAccess::new)),
+        REFLECTION(ReflectionClassAccess::new);
+
+        private final ClassAccessFactory factory;
+
+        Access(final ClassAccessFactory factory) {
+            this.factory = factory;
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+package net.lenni0451.optconfig.benchmarks;
+
+import net.lenni0451.optconfig.ConfigContext;
+import net.lenni0451.optconfig.ConfigLoader;
+import net.lenni0451.optconfig.provider.ConfigProvider;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for loading, reloading and saving configs using the {@link ConfigLoader}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigLoaderBenchmark {
+
+    @Param
+    private BenchmarkConfig config;
+
+    private ConfigLoader<?> loader;
+    private byte[] content;
+    private ConfigProvider provider;
+    private ConfigContext<?> context;
+
+    @Setup
+    public void setup() throws IOException {
+        this.loader = this.config.createLoader();
+        this.content = this.config.createDefaultContent();
+        this.provider = ConfigProvider.memory(() -> this.content, bytes -> {});
+        this.context = this.loader.load(this.provider);
+    }
+
+    @Benchmark
+    public ConfigContext<?> load() throws IOException {
+        return this.loader.load(this.provider);
+    }
+
+    @Benchmark
+    public void reload(final Blackhole blackhole) throws IOException, IllegalAccessException {
+        this.context.reload();
+        blackhole.consume(this.context.getConfigInstance());
+    }
+
+    @Benchmark
+    public void save(final Blackhole blackhole) throws IOException, IllegalAccessException {
+        this.context.save();
+        blackhole.consume(this.context.getConfigInstance());
+    }
+
+}
@@ -0,0 +1,45 @@
+package net.lenni0451.optconfig.benchmarks;
+
+import net.lenni0451.optconfig.MapConfigLoader;
+import net.lenni0451.optconfig.provider.ConfigProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for loading and saving configs using the {@link MapConfigLoader}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapConfigLoaderBenchmark {
+
+    @Param
+    private BenchmarkConfig config;
+
+    private MapConfigLoader loader;
+    private Map<String, Object> values;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] content = this.config.createDefaultContent();
+        this.loader = new MapConfigLoader(ConfigProvider.memory(() -> content, bytes -> {}));
+        this.values = this.loader.load();
+    }
+
+    @Benchmark
+    public Map<String, Object> load() throws IOException {
+        return this.loader.load();
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        this.loader.save(this.values);
+    }
+
+}
@@ -19,6 +19,8 @@ import net.lenni0451.optconfig.index.ConfigType;
 import net.lenni0451.optconfig.index.types.ConfigIndex;
 import net.lenni0451.optconfig.serializer.CLIConfigSerializer;
 import net.lenni0451.optconfig.serializer.ConfigSerializer;
+import net.lenni0451.optconfig.utils.YamlPool;
+import org.yaml.snakeyaml.Yaml;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -98,9 +100,19 @@ public class CLIConfigLoader<C> {
      * @throws CLIMissingOptionException      If a required option is missing from the CLI arguments
      */
     public LoadedOptions loadCLIOptions(final String[] args, final boolean setNotReloadableOptions) throws CLIIncompatibleOptionException, CLIParserException, CLIMissingOptionException {
+        ConfigLoader<C> loader = this.context.getConfigLoader().snapshot();
         Map<String, Object> values = new HashMap<>();
-        LoadedOptions loadedOptions = CLIParser.parse(this.context.getConfigLoader().getYaml(), this.loadOptions(), args, values);
-        ConfigSerializer.deserializeSection(this.context.getConfigLoader(), this.context.getConfigInstance(), this.configIndex, this.context.getConfigInstance(), values, !setNotReloadableOptions, null);
+        YamlPool yamlPool = loader.getYamlPool();
+        Yaml yaml = yamlPool.borrow();
+        LoadedOptions loadedOptions;
+        try {
+            loadedOptions = CLIParser.parse(yaml, this.loadOptions(), args, values);
+        } finally {
+            yamlPool.release(yaml);
+        }
+        //Lazy sections would overwrite the CLI values when they are accessed
+        this.context.materializeSections();
+        ConfigSerializer.deserializeSection(loader, this.context.getConfigInstance(), this.configIndex, this.context.getConfigInstance(), values, !setNotReloadableOptions, null);
         return loadedOptions;
     }
 
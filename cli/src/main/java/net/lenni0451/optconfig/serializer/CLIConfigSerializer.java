@@ -24,9 +24,7 @@ public class CLIConfigSerializer {
     private static final String[] EMPTY_STRING_ARRAY = new String[0];
 
     public static <C> void parseCLIOptions(final ConfigLoader<C> configLoader, @Nullable final C configInstance, final SectionIndex sectionIndex, @Nullable final Object sectionInstance, final Stack<String> path, final List<CLIOption> cliOptions) {
-        for (String optionName : sectionIndex.getOptionsOrder()) {
-            ConfigOption option = sectionIndex.getOption(optionName);
-            if (option == null) throw new IllegalStateException("Section index is desynchronized with options order");
+        for (ConfigOption option : sectionIndex.getSerializationOrder()) {
             Object optionValue = option.getFieldAccess().getValue(sectionInstance);
             Class<?> optionType = option.getFieldAccess().getType();
             Type optionGenericType = option.getFieldAccess().getGenericType();
@@ -44,7 +42,7 @@ public class CLIConfigSerializer {
                     deserializedValue = option.getValidator().invoke(sectionInstance, deserializedValue);
                 }
 
-                Node valueNode = configLoader.getYaml().represent(typeSerializer.serialize(new SerializerInfo(configInstance, sectionInstance, configLoader.getTypeSerializers(), optionType, optionGenericType, deserializedValue)));
+                Node valueNode = configLoader.represent(typeSerializer.serialize(new SerializerInfo(configInstance, sectionInstance, configLoader.getTypeSerializers(), optionType, optionGenericType, deserializedValue)));
                 if (valueNode instanceof SequenceNode sequenceNode) {
                     for (Node node : sequenceNode.getValue()) {
                         if (!(node instanceof ScalarNode)) {
@@ -65,7 +63,7 @@ public class CLIConfigSerializer {
                 CLIIgnore cliIgnore = (CLIIgnore) option.getExtraAnnotations()[2];
                 CLIRequired cliRequired = (CLIRequired) option.getExtraAnnotations()[3];
                 if (cliIgnore == null) {
-                    String name = (cliName == null || cliName.value().isBlank()) ? optionName : cliName.value();
+                    String name = (cliName == null || cliName.value().isBlank()) ? option.getName() : cliName.value();
                     String[] aliases = cliAliases == null ? EMPTY_STRING_ARRAY : cliAliases.value();
                     boolean hiddenAliases = cliAliases != null && cliAliases.hidden();
                     cliOptions.add(new CLIOption(
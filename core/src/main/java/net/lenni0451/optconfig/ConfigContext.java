@@ -1,18 +1,29 @@
 package net.lenni0451.optconfig;
 
 import lombok.Getter;
+import net.lenni0451.optconfig.access.ClassAccessFactory;
 import net.lenni0451.optconfig.access.types.FieldAccess;
+import net.lenni0451.optconfig.index.ClassIndexer;
 import net.lenni0451.optconfig.index.types.ConfigIndex;
 import net.lenni0451.optconfig.index.types.ConfigOption;
+import net.lenni0451.optconfig.index.types.SectionIndex;
 import net.lenni0451.optconfig.provider.ConfigProvider;
+import net.lenni0451.optconfig.provider.ConfigSource;
 import net.lenni0451.optconfig.serializer.ConfigSerializer;
+import net.lenni0451.optconfig.serializer.LazySection;
+import net.lenni0451.optconfig.utils.ReflectionUtils;
 import net.lenni0451.optconfig.utils.YamlUtils;
 import org.yaml.snakeyaml.nodes.MappingNode;
 
-import java.io.ByteArrayInputStream;
+import javax.annotation.Nullable;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.Map;
+import java.io.Reader;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * The context of a loaded config instance.<br>
@@ -24,12 +35,20 @@ public class ConfigContext<C> {
 
     @Getter
     private final ConfigLoader<C> configLoader;
-    @Getter
-    private final C configInstance;
+    private volatile C configInstance;
     @Getter
     private final ConfigProvider configProvider;
     private final ConfigIndex configIndex;
     final Map<ConfigOption, Object> defaultValues;
+    final Map<Object, LazySection> lazySections = new IdentityHashMap<>();
+    private final List<Consumer<List<OptionChange>>> changeListeners = new CopyOnWriteArrayList<>();
+    private final Object saveLock = new Object();
+    @Nullable
+    private MappingNode retainedNode;
+    @Nullable
+    private volatile Object retainedStamp;
+    @Nullable
+    private CompletableFuture<Void> pendingSave;
 
     ConfigContext(final ConfigLoader<C> configLoader, final C configInstance, final ConfigProvider configProvider, final ConfigIndex configIndex) {
         this.configLoader = configLoader;
@@ -38,10 +57,60 @@ public class ConfigContext<C> {
         this.configIndex = configIndex;
         this.defaultValues = configIndex.getCurrentValues(configInstance);
 
-        this.setContextField();
+        this.setContextField(configInstance);
+    }
+
+    /**
+     * Get the current config instance.<br>
+     * If {@link ConfigOptions#isSnapshotReloads()} is enabled, a new instance is published after every reload
+     * which changed at least one option. The returned instance should not be cached in that case.
+     *
+     * @return The current config instance
+     */
+    public C getConfigInstance() {
+        return this.configInstance;
+    }
+
+    /**
+     * Get a section of the config and deserialize its values if it is a lazy section which has not been accessed yet.<br>
+     * Lazy sections contain their default values until they are accessed using this method.
+     * Sections which are not lazy are returned as they are.
+     *
+     * @param section The section instance (e.g. {@code config.section})
+     * @param <S>     The type of the section
+     * @return The given section instance
+     * @see net.lenni0451.optconfig.annotations.Section#lazy()
+     */
+    public synchronized <S> S getSection(final S section) {
+        LazySection lazySection = this.lazySections.remove(section);
+        if (lazySection != null) this.materialize(this.configLoader.snapshot(), section, lazySection);
+        return section;
+    }
+
+    /**
+     * Deserialize the values of all lazy sections which have not been accessed yet.
+     *
+     * @see net.lenni0451.optconfig.annotations.Section#lazy()
+     */
+    public void materializeSections() {
+        this.materializeSections(this.configLoader.snapshot());
+    }
+
+    synchronized void materializeSections(final ConfigLoader<C> loader) {
+        //Deserializing a section can add lazy sections nested in it
+        while (!this.lazySections.isEmpty()) {
+            Object section = this.lazySections.keySet().iterator().next();
+            this.materialize(loader, section, this.lazySections.remove(section));
+        }
     }
 
-    private void setContextField() {
+    private void materialize(final ConfigLoader<C> loader, final Object section, final LazySection lazySection) {
+        //Options written directly since the section was loaded keep their values
+        Map<String, Object> values = lazySection.unmodifiedValues(loader.getConfigOptions(), section);
+        ConfigSerializer.deserializeSection(loader, this.configInstance, lazySection.sectionIndex(), section, values, false, lazySection.configDiff(), null, lazySection.path(), this.lazySections);
+    }
+
+    private void setContextField(final C configInstance) {
         try {
             FieldAccess contextField = null;
             for (FieldAccess field : this.configLoader.getConfigOptions().getClassAccessFactory().create(this.configLoader.getConfigClass()).getFields()) {
@@ -50,20 +119,89 @@ public class ConfigContext<C> {
                 contextField = field;
                 break;
             }
-            if (contextField != null) contextField.setValue(this.configInstance, this);
+            if (contextField != null) contextField.setValue(configInstance, this);
         } catch (Throwable ignored) {
             //Not critical
         }
     }
 
     /**
-     * Reload all reloadable config values.
+     * Add a listener which is called with all changed options after a reload.<br>
+     * The listener is only called if at least one option has changed.
+     *
+     * @param listener The listener to add
+     */
+    public void addChangeListener(final Consumer<List<OptionChange>> listener) {
+        this.changeListeners.add(listener);
+    }
+
+    /**
+     * Remove a previously added change listener.
+     *
+     * @param listener The listener to remove
+     */
+    public void removeChangeListener(final Consumer<List<OptionChange>> listener) {
+        this.changeListeners.remove(listener);
+    }
+
+    /**
+     * Reload all reloadable config values.<br>
+     * Only options with changed values are written and reported to the change listeners.<br>
+     * If {@link ConfigOptions#isSkipUnchangedReloads()} is enabled and the config content has not changed, nothing is done.
      *
      * @throws IOException            If an I/O error occurs
      * @throws IllegalAccessException If the config class or options are not accessible
      */
-    public void reload() throws IOException, IllegalAccessException {
-        this.configLoader.parseSection(this.configIndex, this, this.configInstance, this.configProvider, true);
+    public synchronized void reload() throws IOException, IllegalAccessException {
+        ConfigLoader<C> loader = this.configLoader.snapshot();
+        //The source is opened once for detecting changes and reloading the config
+        ConfigSource source = this.configProvider.open();
+        List<OptionChange> changes = new ArrayList<>();
+        try {
+            if (loader.getConfigOptions().isSkipUnchangedReloads() && !this.hasChanged(source.getStamp())) return;
+            C instance = this.configInstance;
+            if (loader.getConfigOptions().isSnapshotReloads() && instance != null) {
+                //Lazy sections are tracked by their instance, so they have to be deserialized before they are copied
+                this.materializeSections(loader);
+                //Reload into a copy of the current instance and publish it once it is complete
+                //Readers either see the old or the new instance, but never a partially reloaded one
+                C snapshot = this.createSnapshot(loader, instance);
+                loader.parseSection(this.configIndex, this, snapshot, this.configProvider, source, true, changes);
+                if (changes.isEmpty()) return;
+                this.setContextField(snapshot);
+                this.configInstance = snapshot;
+            } else {
+                loader.parseSection(this.configIndex, this, instance, this.configProvider, source, true, changes);
+                if (changes.isEmpty()) return;
+            }
+        } finally {
+            //The source is usually already closed by the loader, closing it again has no effect
+            source.close();
+        }
+        List<OptionChange> changeSet = Collections.unmodifiableList(changes);
+        for (Consumer<List<OptionChange>> listener : this.changeListeners) listener.accept(changeSet);
+    }
+
+    private C createSnapshot(final ConfigLoader<C> loader, final C instance) {
+        ClassAccessFactory classAccessFactory = loader.getConfigOptions().getClassAccessFactory();
+        C snapshot = ReflectionUtils.instantiate(classAccessFactory, this.configLoader.getConfigClass());
+        ClassIndexer.initSections(this.configIndex, snapshot, classAccessFactory);
+        copyOptions(this.configIndex, instance, snapshot);
+        return snapshot;
+    }
+
+    private static void copyOptions(final SectionIndex sectionIndex, final Object from, final Object to) {
+        for (ConfigOption option : sectionIndex.getOptions()) {
+            Object value = option.getFieldAccess().getValue(from);
+            SectionIndex subSection = sectionIndex.getSubSections().get(option);
+            if (subSection == null) {
+                option.getFieldAccess().setValue(to, value);
+            } else {
+                //Sections are copied as well, otherwise the reload would modify the published instance
+                Object target = option.getFieldAccess().getValue(to);
+                if (value != null && target != null && value != target) copyOptions(subSection, value, target);
+            }
+        }
     }
 
     /**
@@ -72,16 +210,129 @@ public class ConfigContext<C> {
      * @throws IOException            If an I/O error occurs
      * @throws IllegalAccessException If the config class or options are not accessible
      */
-    public void save() throws IOException, IllegalAccessException {
-        MappingNode serializedSection = ConfigSerializer.serializeSection(this.configLoader, this.defaultValues, this.configInstance, this.configIndex, this.configInstance);
-        if (this.configLoader.getConfigOptions().isRewriteConfig()) {
+    public synchronized void save() throws IOException, IllegalAccessException {
+        ConfigLoader<C> loader = this.configLoader.snapshot();
+        this.materializeSections(loader);
+        MappingNode serializedSection = ConfigSerializer.serializeSection(loader, this.defaultValues, this.configInstance, this.configIndex, this.configInstance);
+        if (loader.getConfigOptions().isRewriteConfig()) {
             //If the config should be rewritten, just save the serialized section
-            this.configLoader.save(serializedSection, this.configProvider);
+            loader.save(serializedSection, this.configProvider);
+            this.retainNode(serializedSection);
         } else {
             //If the config should not be rewritten, copy over comments and formatting
-            MappingNode readNode = (MappingNode) this.configLoader.getYaml().compose(new InputStreamReader(new ByteArrayInputStream(this.configProvider.load())));
-            YamlUtils.copyValues(serializedSection, readNode);
-            this.configLoader.save(readNode, this.configProvider);
+            MappingNode readNode = this.readNode(loader);
+            if (readNode == null) {
+                readNode = serializedSection;
+            } else {
+                YamlUtils.copyValues(serializedSection, readNode);
+            }
+            loader.save(readNode, this.configProvider);
+            this.retainNode(readNode);
+        }
+    }
+
+    /**
+     * Save the current config values asynchronously.<br>
+     * The config is written after {@link ConfigOptions#getSaveDelay()} on the {@link ConfigOptions#getSaveExecutor()}.
+     * All calls until then are coalesced into a single write, which contains the values at the time of writing.<br>
+     * The returned future is completed once the config has been written.
+     * Every call returns a new future, so completing or cancelling it does not affect other callers.
+     *
+     * @return The future of the pending save
+     */
+    public CompletableFuture<Void> saveAsync() {
+        CompletableFuture<Void> future;
+        synchronized (this.saveLock) {
+            if (this.pendingSave != null) return this.pendingSave.copy();
+            future = new CompletableFuture<>();
+            this.pendingSave = future;
+        }
+        ConfigOptions options = this.configLoader.getConfigOptions();
+        Executor saveExecutor = options.getSaveExecutor();
+        try {
+            CompletableFuture.delayedExecutor(options.getSaveDelay().toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+                //The save executor may reject the task after the delay, which would otherwise leave the save pending forever
+                try {
+                    saveExecutor.execute(() -> this.writePendingSave(null));
+                } catch (Throwable t) {
+                    this.writePendingSave(t);
+                }
+            });
+        } catch (Throwable t) {
+            this.writePendingSave(t);
+        }
+        return future.copy();
+    }
+
+    private void writePendingSave(@Nullable final Throwable error) {
+        CompletableFuture<Void> future;
+        synchronized (this.saveLock) {
+            //Saves requested from now on have to schedule a new write
+            future = this.pendingSave;
+            this.pendingSave = null;
+        }
+        if (future == null) return;
+        if (error != null) {
+            future.completeExceptionally(error);
+            return;
+        }
+        try {
+            this.save();
+            future.complete(null);
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * Check if the config content has changed since it was last loaded or saved by this context.<br>
+     * The check is based on the stamp of the config provider (see {@link ConfigProvider#getStamp()}).<br>
+     * If the provider does not support change detection, {@code true} is returned.
+     *
+     * @return If the config content has changed
+     * @throws IOException If an I/O error occurs
+     */
+    public boolean hasChanged() throws IOException {
+        return this.hasChanged(this.configProvider.getStamp());
+    }
+
+    private boolean hasChanged(@Nullable final Object stamp) {
+        return stamp == null || !stamp.equals(this.retainedStamp);
+    }
+
+    /**
+     * Keep the node tree which represents the current content of the config.<br>
+     * As long as the stamp of the config provider does not change, the node tree is used instead of parsing the config again.
+     *
+     * @param node The node tree
+     * @throws IOException If an I/O error occurs
+     */
+    void retainNode(final MappingNode node) throws IOException {
+        this.retainNode(node, this.configProvider.getStamp());
+    }
+
+    /**
+     * Keep the node tree which represents the content of the config at the given stamp.
+     *
+     * @param node  The node tree or null if only the stamp should be kept
+     * @param stamp The stamp of the config provider before the content was loaded
+     */
+    void retainNode(@Nullable final MappingNode node, @Nullable final Object stamp) {
+        this.retainedStamp = stamp;
+        this.retainedNode = stamp == null ? null : node;
+    }
+
+    @Nullable
+    private MappingNode readNode(final ConfigLoader<C> loader) throws IOException {
+        try (ConfigSource source = this.configProvider.open()) {
+            if (this.retainedNode != null && Objects.equals(this.retainedStamp, source.getStamp())) {
+                return this.retainedNode;
+            }
+            this.retainedNode = null;
+            if (!source.exists()) return null;
+            try (Reader reader = source.openReader()) {
+                return loader.compose(reader);
+            }
         }
     }
 
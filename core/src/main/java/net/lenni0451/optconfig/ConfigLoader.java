@@ -1,5 +1,6 @@
 package net.lenni0451.optconfig;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import net.lenni0451.optconfig.index.ClassIndexer;
 import net.lenni0451.optconfig.index.ConfigType;
@@ -8,25 +9,39 @@ import net.lenni0451.optconfig.index.diff.DiffMerger;
 import net.lenni0451.optconfig.index.types.ConfigIndex;
 import net.lenni0451.optconfig.index.types.SectionIndex;
 import net.lenni0451.optconfig.provider.ConfigProvider;
+import net.lenni0451.optconfig.provider.ConfigSource;
+import net.lenni0451.optconfig.provider.ConfigWriter;
 import net.lenni0451.optconfig.serializer.ConfigSerializer;
 import net.lenni0451.optconfig.serializer.TypeSerializerList;
 import net.lenni0451.optconfig.utils.ReflectionUtils;
+import net.lenni0451.optconfig.utils.ValueCache;
+import net.lenni0451.optconfig.utils.YamlPool;
 import net.lenni0451.optconfig.utils.YamlUtils;
+import org.jetbrains.annotations.ApiStatus;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
-import java.io.StringWriter;
-import java.nio.charset.StandardCharsets;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * The config loader providing methods to load instanced and static configs.<br>
- * A new config loader should be created for each config class.
+ * A new config loader should be created for each config class.<br>
+ * Loaders which create their own yaml instances can load configs from multiple threads at the same time.
+ * Every load, reload and save operation uses a snapshot of the config options taken when the operation starts.
  *
  * @param <C> The type of the config instance
  */
@@ -34,6 +49,8 @@ import java.util.function.Consumer;
 public class ConfigLoader<C> {
 
     private final Yaml yaml;
+    @Getter(AccessLevel.NONE)
+    private final YamlPool yamlPool;
     private final Class<C> configClass;
     private final ConfigOptions configOptions;
     private final TypeSerializerList typeSerializers;
@@ -43,16 +60,82 @@ public class ConfigLoader<C> {
     }
 
     public ConfigLoader(final Class<C> configClass, final Consumer<LoaderOptions> loaderOptionsConsumer, final Consumer<DumperOptions> dumperOptionsConsumer) {
-        this(YamlUtils.createYaml(loaderOptionsConsumer, dumperOptionsConsumer), configClass);
+        this(() -> YamlUtils.createYaml(loaderOptionsConsumer, dumperOptionsConsumer), configClass);
     }
 
+    /**
+     * Create a new config loader using the given yaml instance.<br>
+     * Yaml instances are not thread-safe, so the loader must not be used by multiple threads at the same time.
+     * Use {@link #ConfigLoader(Supplier, Class)} for concurrent loading.
+     *
+     * @param yaml        The yaml instance to use
+     * @param configClass The config class
+     */
     public ConfigLoader(final Yaml yaml, final Class<C> configClass) {
-        this.yaml = yaml;
+        this(() -> yaml, configClass);
+    }
+
+    /**
+     * Create a new config loader using a separate yaml instance for every concurrent load or save operation.<br>
+     * Unused yaml instances are pooled, the supplier is only called if all pooled instances are in use.
+     *
+     * @param yamlSupplier The supplier for the yaml instances
+     * @param configClass  The config class
+     */
+    public ConfigLoader(final Supplier<Yaml> yamlSupplier, final Class<C> configClass) {
+        this.yaml = yamlSupplier.get();
+        this.yamlPool = new YamlPool(yamlSupplier, Runtime.getRuntime().availableProcessors());
         this.configClass = configClass;
         this.configOptions = new ConfigOptions();
         this.typeSerializers = new TypeSerializerList();
     }
 
+    private ConfigLoader(final ConfigLoader<C> configLoader) {
+        this.yaml = configLoader.yaml;
+        this.yamlPool = configLoader.yamlPool;
+        this.configClass = configLoader.configClass;
+        this.configOptions = configLoader.configOptions.copy();
+        this.typeSerializers = configLoader.typeSerializers;
+    }
+
+    /**
+     * Create a copy of this loader using a snapshot of the current config options.<br>
+     * The yaml instances and type serializers are shared with this loader.
+     * Changing the options of this loader afterwards does not affect the snapshot.
+     *
+     * @return The loader using the snapshot of the options
+     */
+    @ApiStatus.Internal
+    public ConfigLoader<C> snapshot() {
+        return new ConfigLoader<>(this);
+    }
+
+    /**
+     * Get the pool of the yaml instances used by this loader.
+     *
+     * @return The yaml pool
+     */
+    @ApiStatus.Internal
+    public YamlPool getYamlPool() {
+        return this.yamlPool;
+    }
+
+    /**
+     * Represent a value as a yaml node using a pooled yaml instance.
+     *
+     * @param value The value to represent
+     * @return The yaml node
+     */
+    @ApiStatus.Internal
+    public Node represent(@Nullable final Object value) {
+        Yaml yaml = this.yamlPool.borrow();
+        try {
+            return yaml.represent(value);
+        } finally {
+            this.yamlPool.release(yaml);
+        }
+    }
+
     /**
      * Load an instanced config from the given path.<br>
      * A new instance of the config class will be created and returned.<br>
@@ -63,7 +146,9 @@ public class ConfigLoader<C> {
      * @throws IOException If an I/O error occurs
      */
     public ConfigContext<C> load(final ConfigProvider configProvider) throws IOException {
-        return this.load(ReflectionUtils.instantiate(this, this.configClass), configProvider);
+        ConfigLoader<C> loader = this.snapshot();
+        C config = ReflectionUtils.instantiate(loader, this.configClass);
+        return this.load(loader, config, configProvider, ClassIndexer.indexClassAndInit(ConfigType.INSTANCED, loader, config));
     }
 
     /**
@@ -76,9 +161,57 @@ public class ConfigLoader<C> {
      * @throws IOException If an I/O error occurs
      */
     public ConfigContext<C> load(final C config, final ConfigProvider configProvider) throws IOException {
-        ConfigIndex index = ClassIndexer.indexClassAndInit(ConfigType.INSTANCED, this, config);
+        ConfigLoader<C> loader = this.snapshot();
+        return this.load(loader, config, configProvider, ClassIndexer.indexClassAndInit(ConfigType.INSTANCED, loader, config));
+    }
+
+    /**
+     * Load many instanced configs in parallel.<br>
+     * A new instance of the config class will be created for every config provider.<br>
+     * The config class must have an empty constructor.
+     *
+     * @param configProviders The config providers for loading and saving the configs
+     * @param executor        The executor to load the configs on
+     * @return The results in the same order as the config providers
+     * @see #loadAll(Collection, Function, Executor)
+     */
+    public List<LoadResult<C>> loadAll(final Collection<? extends ConfigProvider> configProviders, final Executor executor) {
+        return this.loadAll(configProviders, configProvider -> ReflectionUtils.instantiate(this, this.configClass), executor);
+    }
+
+    /**
+     * Load many instanced configs in parallel.<br>
+     * The config class is only indexed once and the index is shared between all configs.<br>
+     * Errors are not thrown but returned in the result of the failed config.
+     *
+     * @param configProviders The config providers for loading and saving the configs
+     * @param instanceFactory The factory creating the instance to store the values of a config
+     * @param executor        The executor to load the configs on
+     * @return The results in the same order as the config providers
+     */
+    public List<LoadResult<C>> loadAll(final Collection<? extends ConfigProvider> configProviders, final Function<ConfigProvider, C> instanceFactory, final Executor executor) {
+        ConfigLoader<C> loader = this.snapshot();
+        ConfigIndex index = ClassIndexer.getIndex(ConfigType.INSTANCED, loader);
+        List<CompletableFuture<LoadResult<C>>> futures = new ArrayList<>(configProviders.size());
+        for (ConfigProvider configProvider : configProviders) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    C config = instanceFactory.apply(configProvider);
+                    ClassIndexer.initSections(index, config, loader.configOptions.getClassAccessFactory());
+                    return new LoadResult<>(configProvider, this.load(loader, config, configProvider, index), null);
+                } catch (Throwable t) {
+                    return new LoadResult<>(configProvider, null, t);
+                }
+            }, executor));
+        }
+        List<LoadResult<C>> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<LoadResult<C>> future : futures) results.add(future.join());
+        return results;
+    }
+
+    private ConfigContext<C> load(final ConfigLoader<C> loader, final C config, final ConfigProvider configProvider, final ConfigIndex index) throws IOException {
         ConfigContext<C> configContext = new ConfigContext<>(this, config, configProvider, index);
-        this.parseSection(index, configContext, config, configProvider, false);
+        loader.parseSection(index, configContext, config, configProvider, false, null);
         return configContext;
     }
 
@@ -90,39 +223,110 @@ public class ConfigLoader<C> {
      * @throws IOException If an I/O error occurs
      */
     public ConfigContext<C> loadStatic(final ConfigProvider configProvider) throws IOException {
-        ConfigIndex index = ClassIndexer.indexClassAndInit(ConfigType.STATIC, this, null);
+        ConfigLoader<C> loader = this.snapshot();
+        ConfigIndex index = ClassIndexer.indexClassAndInit(ConfigType.STATIC, loader, null);
         ConfigContext<C> configContext = new ConfigContext<>(this, null, configProvider, index);
-        this.parseSection(index, configContext, null, configProvider, false);
+        loader.parseSection(index, configContext, null, configProvider, false, null);
         return configContext;
     }
 
-    void parseSection(final SectionIndex sectionIndex, final ConfigContext<C> configContext, @Nullable final C instance, final ConfigProvider configProvider, final boolean reload) throws IOException {
-        if (configProvider.exists()) {
-            //If the file exists, load the content and deserialize it to a map
-            //If differences are found, load the config again as Nodes and apply the differences, then save the config again
-            byte[] content = configProvider.load();
-            Map<String, Object> values = this.yaml.load(new String(content, StandardCharsets.UTF_8));
-            ConfigDiff configDiff = ConfigSerializer.deserializeSection(this, instance, sectionIndex, instance, values, reload, null);
+    void parseSection(final SectionIndex sectionIndex, final ConfigContext<C> configContext, @Nullable final C instance, final ConfigProvider configProvider, final boolean reload, @Nullable final List<OptionChange> changes) throws IOException {
+        this.parseSection(sectionIndex, configContext, instance, configProvider, configProvider.open(), reload, changes);
+    }
+
+    /**
+     * Parse the config from an already opened source.<br>
+     * The source is closed before anything is saved.
+     */
+    void parseSection(final SectionIndex sectionIndex, final ConfigContext<C> configContext, @Nullable final C instance, final ConfigProvider configProvider, final ConfigSource configSource, final boolean reload, @Nullable final List<OptionChange> changes) throws IOException {
+        //The content is fetched once and closed before anything is saved
+        //The stamp is read first, so changes while loading are detected on the next reload
+        Object stamp = null;
+        MappingNode readNode = null;
+        Map<String, Object> values = null;
+        ConfigProvider cacheProvider = this.configOptions.isCompiledCache() ? configProvider.getCacheProvider() : null;
+        try (ConfigSource source = configSource) {
+            if (source.exists()) {
+                //If the file exists, compose the content once and construct the values from the composed nodes
+                stamp = source.getStamp();
+                byte[] content = null;
+                byte[] hash = null;
+                if (cacheProvider != null) {
+                    //If the content is unchanged, the cached values are used and the yaml is not parsed at all
+                    //The content is read once, so the hash always matches the parsed values
+                    content = source.readContent();
+                    hash = ValueCache.hash(content);
+                    values = ValueCache.read(cacheProvider, hash);
+                }
+                if (values == null) {
+                    Yaml yaml = this.yamlPool.borrow();
+                    try {
+                        if (content != null) {
+                            readNode = (MappingNode) YamlUtils.compose(yaml, content);
+                            if (readNode != null) values = YamlUtils.construct(yaml, readNode, content);
+                        } else {
+                            try (Reader reader = source.openReader()) {
+                                readNode = (MappingNode) YamlUtils.compose(yaml, reader);
+                            }
+                            if (readNode != null) values = YamlUtils.construct(yaml, readNode, source);
+                        }
+                    } finally {
+                        this.yamlPool.release(yaml);
+                    }
+                    //The values have to be cached before they are modified by migrators
+                    if (values != null && hash != null) ValueCache.write(cacheProvider, hash, values);
+                }
+            }
+        }
+        if (values != null) {
+            //If differences are found, apply them to the already composed nodes, then save the config again
+            ConfigDiff configDiff = ConfigSerializer.deserializeSection(this, instance, sectionIndex, instance, values, reload, null, changes, List.of(), configContext.lazySections);
             if (!this.configOptions.isRewriteConfig() || reload) {
                 //If the config should be rewritten anyway, this step is not necessary
                 //On reloads also only apply differences because overwriting the config now would revert not reloadable options
-                if (!configDiff.isEmpty()) {
-                    MappingNode mergedNode = DiffMerger.merge(this, configContext.defaultValues, content, sectionIndex, configDiff, instance);
-                    this.save(mergedNode, configProvider);
+                if (configDiff.isEmpty()) {
+                    //Without a node (values from the cache) only the stamp is kept and the config is parsed when it is saved
+                    configContext.retainNode(readNode, stamp);
+                } else {
+                    if (readNode == null) readNode = this.compose(configProvider);
+                    DiffMerger.merge(this, configContext.defaultValues, readNode, sectionIndex, configDiff, instance);
+                    this.save(readNode, configProvider);
+                    configContext.retainNode(readNode);
                 }
                 return;
             }
         }
         //If the file does not exist, simply serialize the default values
         //This also applies if ConfigOptions.isRewriteConfig() is true
+        configContext.materializeSections(this);
         MappingNode node = ConfigSerializer.serializeSection(this, configContext.defaultValues, instance, sectionIndex, instance);
         this.save(node, configProvider);
+        configContext.retainNode(node);
+    }
+
+    private MappingNode compose(final ConfigProvider configProvider) throws IOException {
+        try (ConfigSource source = configProvider.open(); Reader reader = source.openReader()) {
+            return this.compose(reader);
+        }
+    }
+
+    MappingNode compose(final Reader reader) {
+        Yaml yaml = this.yamlPool.borrow();
+        try {
+            return (MappingNode) YamlUtils.compose(yaml, reader);
+        } finally {
+            this.yamlPool.release(yaml);
+        }
     }
 
     void save(final MappingNode node, final ConfigProvider configProvider) throws IOException {
-        StringWriter writer = new StringWriter();
-        this.yaml.serialize(node, writer);
-        configProvider.save(writer.toString().getBytes(StandardCharsets.UTF_8));
+        Yaml yaml = this.yamlPool.borrow();
+        try (ConfigWriter writer = configProvider.openWriter()) {
+            yaml.serialize(node, writer);
+            writer.commit();
+        } finally {
+            this.yamlPool.release(yaml);
+        }
     }
 
 }
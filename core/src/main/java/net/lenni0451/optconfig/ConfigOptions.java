@@ -3,12 +3,17 @@ package net.lenni0451.optconfig;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import net.lenni0451.optconfig.access.CachingClassAccessFactory;
 import net.lenni0451.optconfig.access.ClassAccessFactory;
+import net.lenni0451.optconfig.access.impl.generated.GeneratedClassAccessFactory;
 import net.lenni0451.optconfig.access.impl.reflection.ReflectionClassAccess;
 import net.lenni0451.optconfig.access.types.ClassAccess;
 import net.lenni0451.optconfig.annotations.NotReloadable;
 import net.lenni0451.optconfig.utils.OptionExceptionHandler;
 
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.function.BiPredicate;
 
 /**
@@ -19,6 +24,20 @@ import java.util.function.BiPredicate;
 @Accessors(chain = true)
 public class ConfigOptions {
 
+    /**
+     * The class access factory shared between all loaders by default.
+     */
+    public static final ClassAccessFactory DEFAULT_CLASS_ACCESS_FACTORY = new CachingClassAccessFactory(new GeneratedClassAccessFactory(ReflectionClassAccess::new));
+    /**
+     * The executor writing asynchronous saves shared between all loaders by default.<br>
+     * It uses a single daemon thread, so saves which are still pending when the JVM exits are not written.
+     */
+    public static final Executor DEFAULT_SAVE_EXECUTOR = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "OptConfig save");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     /**
      * Handler for exceptions thrown during option deserialization.<br>
      * Default: {@code (o, t) -> throw t}
@@ -69,9 +88,55 @@ public class ConfigOptions {
     /**
      * The factory for the {@link ClassAccess} instances.<br>
      * Can be set to use a different access method than reflection.<br>
-     * Default: {@link ReflectionClassAccess}
+     * Wrap custom factories in a {@link CachingClassAccessFactory} to only gather the class metadata once.<br>
+     * Default: The class accesses generated by the annotation processor or {@link ReflectionClassAccess} if none were generated (cached and shared between all loaders)
      */
-    private ClassAccessFactory classAccessFactory = ReflectionClassAccess::new;
+    private ClassAccessFactory classAccessFactory = DEFAULT_CLASS_ACCESS_FACTORY;
+    /**
+     * Should the index of the config class be cached.<br>
+     * The cached index is shared between all loaders using the same config class and {@link #classAccessFactory}.
+     * Only indices created by a {@link CachingClassAccessFactory} (like {@link #DEFAULT_CLASS_ACCESS_FACTORY}) are cached.
+     * Factories are compared by identity, so custom caching factories should be reused for all loaders instead of creating a new one every time.<br>
+     * Description generators are only called once when the index is created.<br>
+     * Default: {@code true}
+     */
+    private boolean cacheClassIndex = true;
+    /**
+     * Skip reloading the config if the content has not changed since it was last loaded or saved.<br>
+     * Changes are detected using the stamp of the config provider (see {@link net.lenni0451.optconfig.provider.ConfigProvider#getStamp()}).
+     * Providers without change detection are always reloaded.<br>
+     * If enabled, reloading an unchanged config keeps reloadable options which were only changed in memory instead of resetting them.<br>
+     * Default: {@code false}
+     */
+    private boolean skipUnchangedReloads = false;
+    /**
+     * Reload instanced configs into a new instance instead of modifying the current one.<br>
+     * The current option values are copied into the new instance before reloading, so not reloadable options keep their values.<br>
+     * The new instance is only published if the reload succeeded, so readers never see a partially reloaded config.
+     * Use {@link ConfigContext#getConfigInstance()} to always get the latest instance.<br>
+     * This has no effect on static configs.<br>
+     * Default: {@code false}
+     */
+    private boolean snapshotReloads = false;
+    /**
+     * Cache the values parsed from the config file in a compact binary form (see {@link net.lenni0451.optconfig.provider.ConfigProvider#getCacheProvider()}).<br>
+     * As long as the config content is unchanged, the values are read from the cache instead of parsing the yaml again.
+     * Type serializers, validators and migrators still run on the cached values.<br>
+     * Default: {@code false}
+     */
+    private boolean compiledCache = false;
+    /**
+     * The time to wait for further changes before an asynchronous save is written.<br>
+     * All calls to {@link ConfigContext#saveAsync()} within this window are coalesced into a single write.<br>
+     * Default: {@code 100ms}
+     */
+    private Duration saveDelay = Duration.ofMillis(100);
+    /**
+     * The executor used to write asynchronous saves.<br>
+     * Saves block while writing the config, so the executor should not be shared with non-blocking tasks.<br>
+     * Default: {@link #DEFAULT_SAVE_EXECUTOR}
+     */
+    private Executor saveExecutor = DEFAULT_SAVE_EXECUTOR;
     /**
      * The comparator for the default values of the options.<br>
      * This is used to determine if a default value is equal to the current value of an option.<br>
@@ -106,4 +171,31 @@ public class ConfigOptions {
         return this;
     }
 
+    /**
+     * Create a copy of the current options.<br>
+     * Every operation of the config loader uses its own copy, so changing the options does not affect running operations.
+     *
+     * @return The copied options
+     */
+    ConfigOptions copy() {
+        ConfigOptions copy = new ConfigOptions();
+        copy.deserializerExceptionHandler = this.deserializerExceptionHandler;
+        copy.removeUnknownOptions = this.removeUnknownOptions;
+        copy.addMissingOptions = this.addMissingOptions;
+        copy.commentSpacing = this.commentSpacing;
+        copy.rewriteConfig = this.rewriteConfig;
+        copy.spaceBetweenOptions = this.spaceBetweenOptions;
+        copy.notReloadableComment = this.notReloadableComment;
+        copy.notReloadableSectionComment = this.notReloadableSectionComment;
+        copy.classAccessFactory = this.classAccessFactory;
+        copy.cacheClassIndex = this.cacheClassIndex;
+        copy.skipUnchangedReloads = this.skipUnchangedReloads;
+        copy.snapshotReloads = this.snapshotReloads;
+        copy.compiledCache = this.compiledCache;
+        copy.saveDelay = this.saveDelay;
+        copy.saveExecutor = this.saveExecutor;
+        copy.defaultValueComparator = this.defaultValueComparator;
+        return copy;
+    }
+
 }
@@ -0,0 +1,26 @@
+package net.lenni0451.optconfig;
+
+import net.lenni0451.optconfig.provider.ConfigProvider;
+
+import javax.annotation.Nullable;
+
+/**
+ * The result of loading a single config in a batch.<br>
+ * Either the context or the error is set.
+ *
+ * @param configProvider The config provider the config was loaded from
+ * @param context        The loaded config context or null if loading failed
+ * @param error          The error thrown while loading or null if loading succeeded
+ * @param <C>            The type of the config instance
+ * @see ConfigLoader#loadAll(java.util.Collection, java.util.concurrent.Executor)
+ */
+public record LoadResult<C>(ConfigProvider configProvider, @Nullable ConfigContext<C> context, @Nullable Throwable error) {
+
+    /**
+     * @return If the config was loaded successfully
+     */
+    public boolean isSuccess() {
+        return this.error == null;
+    }
+
+}
@@ -1,17 +1,16 @@
 package net.lenni0451.optconfig;
 
 import net.lenni0451.optconfig.provider.ConfigProvider;
+import net.lenni0451.optconfig.provider.ConfigSource;
+import net.lenni0451.optconfig.provider.ConfigWriter;
 import net.lenni0451.optconfig.utils.YamlUtils;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.nodes.MappingNode;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.StringWriter;
-import java.nio.charset.StandardCharsets;
+import java.io.Reader;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -40,13 +39,17 @@ public class MapConfigLoader {
      * @throws IOException If an I/O error occurs
      */
     public Map<String, Object> load() throws IOException {
-        if (this.configProvider.exists()) {
-            byte[] content = this.configProvider.load();
-            Map<String, Object> config = this.yaml.load(new String(content, StandardCharsets.UTF_8));
-            if (config == null) return new LinkedHashMap<>();
-            return config;
-        } else {
-            return new LinkedHashMap<>();
+        try (ConfigSource source = this.configProvider.open()) {
+            if (source.exists()) {
+                Map<String, Object> config;
+                try (Reader reader = source.openReader()) {
+                    config = this.yaml.load(reader);
+                }
+                if (config == null) return new LinkedHashMap<>();
+                return config;
+            } else {
+                return new LinkedHashMap<>();
+            }
         }
     }
 
@@ -59,17 +62,23 @@ public class MapConfigLoader {
      */
     public void save(final Map<String, Object> config) throws IOException {
         MappingNode valuesNode = (MappingNode) this.yaml.represent(config);
-        if (this.configProvider.exists()) {
-            MappingNode rootNode = (MappingNode) this.yaml.compose(new InputStreamReader(new ByteArrayInputStream(this.configProvider.load())));
-            if (rootNode != null) {
-                //Only copy comments
-                //Using YamlUtils#copyValues results in the inability to remove subsections
-                YamlUtils.copyComments(rootNode, valuesNode);
+        try (ConfigSource source = this.configProvider.open()) {
+            if (source.exists()) {
+                MappingNode rootNode;
+                try (Reader reader = source.openReader()) {
+                    rootNode = (MappingNode) YamlUtils.compose(this.yaml, reader);
+                }
+                if (rootNode != null) {
+                    //Only copy comments
+                    //Using YamlUtils#copyValues results in the inability to remove subsections
+                    YamlUtils.copyComments(rootNode, valuesNode);
+                }
             }
         }
-        StringWriter writer = new StringWriter();
-        this.yaml.serialize(valuesNode, writer);
-        this.configProvider.save(writer.toString().getBytes(StandardCharsets.UTF_8));
+        try (ConfigWriter writer = this.configProvider.openWriter()) {
+            this.yaml.serialize(valuesNode, writer);
+            writer.commit();
+        }
     }
 
 }
@@ -0,0 +1,13 @@
+package net.lenni0451.optconfig;
+
+import java.util.List;
+
+/**
+ * A change of an option value caused by reloading the config.
+ *
+ * @param path     The path to the option (the names of all parent sections followed by the name of the option)
+ * @param oldValue The value before the reload
+ * @param newValue The value after the reload
+ */
+public record OptionChange(List<String> path, Object oldValue, Object newValue) {
+}
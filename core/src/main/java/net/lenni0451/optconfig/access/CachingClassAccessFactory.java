@@ -0,0 +1,37 @@
+package net.lenni0451.optconfig.access;
+
+import net.lenni0451.optconfig.access.types.ClassAccess;
+
+/**
+ * A {@link ClassAccessFactory} caching the created {@link ClassAccess} instances per class.<br>
+ * This way the class metadata is only gathered once per class.<br>
+ * The cache does not prevent the classes from being unloaded.
+ */
+public class CachingClassAccessFactory implements ClassAccessFactory {
+
+    private final ClassAccessFactory delegate;
+    private final ClassValue<ClassAccess> cache;
+
+    public CachingClassAccessFactory(final ClassAccessFactory delegate) {
+        this.delegate = delegate;
+        this.cache = new ClassValue<>() {
+            @Override
+            protected ClassAccess computeValue(final Class<?> type) {
+                return CachingClassAccessFactory.this.delegate.create(type);
+            }
+        };
+    }
+
+    /**
+     * @return The factory used to create the class accesses
+     */
+    public ClassAccessFactory getDelegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public ClassAccess create(final Class<?> clazz) {
+        return this.cache.get(clazz);
+    }
+
+}
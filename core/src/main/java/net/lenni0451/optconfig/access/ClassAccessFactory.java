@@ -4,7 +4,8 @@ import net.lenni0451.optconfig.access.types.ClassAccess;
 
 /**
  * A factory to create {@link ClassAccess} instances for a specific class.<br>
- * This is required if reflection access to the config class is not available by default.
+ * This is required if reflection access to the config class is not available by default.<br>
+ * Factories should be created once and reused for all config loaders, the cached config indices are stored per factory instance.
  */
 @FunctionalInterface
 public interface ClassAccessFactory {
@@ -0,0 +1,203 @@
+package net.lenni0451.optconfig.access.impl.bytecode;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import static net.lenni0451.optconfig.access.impl.bytecode.ClassFileWriter.ACC_PUBLIC;
+
+/**
+ * Generates hidden classes which access fields, methods and constructors using plain bytecode instructions.<br>
+ * The hidden classes are defined as nestmates of the declaring class, so private members can be accessed as well.<br>
+ * If a member can't be accessed this way {@code null} is returned and reflection should be used instead.
+ */
+class AccessorGenerator {
+
+    private static final String OBJECT = "java/lang/Object";
+    private static final String UNSUPPORTED_OPERATION = "java/lang/UnsupportedOperationException";
+    private static final String SUFFIX = "$$OptConfigAccessor";
+
+    private static final int ACONST_NULL = 0x01;
+    private static final int ALOAD_0 = 0x2A;
+    private static final int ALOAD_1 = 0x2B;
+    private static final int ALOAD_2 = 0x2C;
+    private static final int AALOAD = 0x32;
+    private static final int DUP = 0x59;
+    private static final int ARETURN = 0xB0;
+    private static final int RETURN = 0xB1;
+    private static final int GETSTATIC = 0xB2;
+    private static final int PUTSTATIC = 0xB3;
+    private static final int GETFIELD = 0xB4;
+    private static final int PUTFIELD = 0xB5;
+    private static final int INVOKEVIRTUAL = 0xB6;
+    private static final int INVOKESPECIAL = 0xB7;
+    private static final int INVOKESTATIC = 0xB8;
+    private static final int NEW = 0xBB;
+    private static final int ATHROW = 0xBF;
+    private static final int CHECKCAST = 0xC0;
+
+    /**
+     * Generate an accessor implementing {@link FieldAccessor}.<br>
+     * The setter of final fields throws an {@link UnsupportedOperationException}.
+     *
+     * @param lookup The lookup with access to the declaring class
+     * @param field  The field to access
+     * @return The generated accessor or null if the field can't be accessed
+     */
+    @Nullable
+    static FieldAccessor generate(final MethodHandles.Lookup lookup, final Field field) {
+        Class<?> owner = field.getDeclaringClass();
+        Class<?> type = field.getType();
+        boolean isStatic = Modifier.isStatic(field.getModifiers());
+        return define(lookup, FieldAccessor.class, owner, new Class<?>[]{type}, writer -> {
+            int ownerClass = writer.classRef(internalName(owner));
+            int fieldRef = writer.fieldRef(internalName(owner), field.getName(), type.descriptorString());
+
+            ClassFileWriter.Code get = new ClassFileWriter.Code();
+            if (isStatic) {
+                get.op(GETSTATIC, fieldRef);
+            } else {
+                get.op(ALOAD_1).op(CHECKCAST, ownerClass).op(GETFIELD, fieldRef);
+            }
+            box(writer, get, type);
+            get.op(ARETURN);
+            writer.method(ACC_PUBLIC, "get", "(Ljava/lang/Object;)Ljava/lang/Object;", 2, 2, get);
+
+            ClassFileWriter.Code set = new ClassFileWriter.Code();
+            if (Modifier.isFinal(field.getModifiers())) {
+                //Final fields can only be written in the constructor or static initializer
+                set.op(NEW, writer.classRef(UNSUPPORTED_OPERATION)).op(DUP);
+                set.op(INVOKESPECIAL, writer.methodRef(UNSUPPORTED_OPERATION, "<init>", "()V")).op(ATHROW);
+            } else {
+                if (!isStatic) set.op(ALOAD_1).op(CHECKCAST, ownerClass);
+                set.op(ALOAD_2);
+                unbox(writer, set, type);
+                set.op(isStatic ? PUTSTATIC : PUTFIELD, fieldRef).op(RETURN);
+            }
+            writer.method(ACC_PUBLIC, "set", "(Ljava/lang/Object;Ljava/lang/Object;)V", 3, 3, set);
+        });
+    }
+
+    /**
+     * Generate an accessor implementing {@link MethodAccessor}.
+     *
+     * @param lookup The lookup with access to the declaring class
+     * @param method The method to invoke
+     * @return The generated accessor or null if the method can't be accessed
+     */
+    @Nullable
+    static MethodAccessor generate(final MethodHandles.Lookup lookup, final Method method) {
+        Class<?> owner = method.getDeclaringClass();
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Class<?>[] types = Arrays.copyOf(parameterTypes, parameterTypes.length + 1);
+        types[parameterTypes.length] = method.getReturnType();
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        return define(lookup, MethodAccessor.class, owner, types, writer -> {
+            String descriptor = MethodType.methodType(method.getReturnType(), parameterTypes).toMethodDescriptorString();
+            int methodRef = writer.methodRef(internalName(owner), method.getName(), descriptor);
+
+            ClassFileWriter.Code invoke = new ClassFileWriter.Code();
+            if (!isStatic) invoke.op(ALOAD_1).op(CHECKCAST, writer.classRef(internalName(owner)));
+            int slots = loadArguments(writer, invoke, ALOAD_2, parameterTypes);
+            invoke.op(isStatic ? INVOKESTATIC : INVOKEVIRTUAL, methodRef);
+            if (method.getReturnType() == void.class) invoke.op(ACONST_NULL);
+            else box(writer, invoke, method.getReturnType());
+            invoke.op(ARETURN);
+            writer.method(ACC_PUBLIC, "invoke", "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;", 1 + slots + 2, 3, invoke);
+        });
+    }
+
+    /**
+     * Generate an accessor implementing {@link ConstructorAccessor}.
+     *
+     * @param lookup      The lookup with access to the declaring class
+     * @param constructor The constructor to invoke
+     * @return The generated accessor or null if the constructor can't be accessed
+     */
+    @Nullable
+    static ConstructorAccessor generate(final MethodHandles.Lookup lookup, final Constructor<?> constructor) {
+        Class<?> owner = constructor.getDeclaringClass();
+        if (Modifier.isAbstract(owner.getModifiers())) return null;
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        return define(lookup, ConstructorAccessor.class, owner, parameterTypes, writer -> {
+            String descriptor = MethodType.methodType(void.class, parameterTypes).toMethodDescriptorString();
+            int methodRef = writer.methodRef(internalName(owner), "<init>", descriptor);
+
+            ClassFileWriter.Code newInstance = new ClassFileWriter.Code();
+            newInstance.op(NEW, writer.classRef(internalName(owner))).op(DUP);
+            int slots = loadArguments(writer, newInstance, ALOAD_1, parameterTypes);
+            newInstance.op(INVOKESPECIAL, methodRef).op(ARETURN);
+            writer.method(ACC_PUBLIC, "newInstance", "([Ljava/lang/Object;)Ljava/lang/Object;", 2 + slots + 2, 2, newInstance);
+        });
+    }
+
+    @Nullable
+    private static <T> T define(final MethodHandles.Lookup lookup, final Class<T> accessorType, final Class<?> owner, final Class<?>[] types, final Consumer<ClassFileWriter> generator) {
+        if (owner.isInterface() || owner.isHidden()) return null;
+        try {
+            //The hidden class is defined in the package and nest of the owner
+            //This requires full privilege access to the owner
+            MethodHandles.Lookup ownerLookup = MethodHandles.privateLookupIn(owner, lookup);
+            if (!ownerLookup.hasFullPrivilegeAccess()) return null;
+            //The accessor interface and all used types have to be visible from the owner
+            if (Class.forName(accessorType.getName(), false, owner.getClassLoader()) != accessorType) return null;
+            for (Class<?> type : types) {
+                if (!type.isPrimitive()) ownerLookup.accessClass(type);
+            }
+
+            ClassFileWriter writer = new ClassFileWriter();
+            ClassFileWriter.Code init = new ClassFileWriter.Code();
+            init.op(ALOAD_0).op(INVOKESPECIAL, writer.methodRef(OBJECT, "<init>", "()V")).op(RETURN);
+            writer.method(ACC_PUBLIC, "<init>", "()V", 1, 1, init);
+            generator.accept(writer);
+            byte[] bytes = writer.toByteArray(internalName(owner) + SUFFIX, OBJECT, internalName(accessorType));
+
+            MethodHandles.Lookup hiddenLookup = ownerLookup.defineHiddenClass(bytes, true, MethodHandles.Lookup.ClassOption.NESTMATE);
+            return accessorType.cast(hiddenLookup.lookupClass().getConstructor().newInstance());
+        } catch (ReflectiveOperationException | LinkageError | IllegalArgumentException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private static int loadArguments(final ClassFileWriter writer, final ClassFileWriter.Code code, final int loadArray, final Class<?>[] parameterTypes) {
+        int slots = 0;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            code.op(loadArray).pushInt(i).op(AALOAD);
+            unbox(writer, code, parameterTypes[i]);
+            slots += parameterTypes[i] == long.class || parameterTypes[i] == double.class ? 2 : 1;
+        }
+        return slots;
+    }
+
+    private static void box(final ClassFileWriter writer, final ClassFileWriter.Code code, final Class<?> type) {
+        if (!type.isPrimitive()) return;
+        String wrapper = internalName(wrap(type));
+        code.op(INVOKESTATIC, writer.methodRef(wrapper, "valueOf", "(" + type.descriptorString() + ")L" + wrapper + ";"));
+    }
+
+    private static void unbox(final ClassFileWriter writer, final ClassFileWriter.Code code, final Class<?> type) {
+        if (type.isPrimitive()) {
+            String wrapper = internalName(wrap(type));
+            code.op(CHECKCAST, writer.classRef(wrapper));
+            code.op(INVOKEVIRTUAL, writer.methodRef(wrapper, type.getName() + "Value", "()" + type.descriptorString()));
+        } else if (type != Object.class) {
+            code.op(CHECKCAST, writer.classRef(internalName(type)));
+        }
+    }
+
+    private static Class<?> wrap(final Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static String internalName(final Class<?> type) {
+        if (type.isArray()) return type.descriptorString();
+        return type.getName().replace('.', '/');
+    }
+
+}
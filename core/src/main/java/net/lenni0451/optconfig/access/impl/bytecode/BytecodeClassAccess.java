@@ -0,0 +1,52 @@
+package net.lenni0451.optconfig.access.impl.bytecode;
+
+import net.lenni0451.optconfig.access.impl.reflection.ReflectionClassAccess;
+import net.lenni0451.optconfig.access.types.ClassAccess;
+import net.lenni0451.optconfig.access.types.ConstructorAccess;
+import net.lenni0451.optconfig.access.types.FieldAccess;
+import net.lenni0451.optconfig.access.types.MethodAccess;
+import net.lenni0451.optconfig.utils.ArrayUtils;
+
+import java.lang.invoke.MethodHandles;
+
+/**
+ * An implementation of {@link ClassAccess} using generated hidden classes to access fields, methods and constructors.<br>
+ * The accessors are generated lazily the first time a member is used.<br>
+ * The given lookup needs full privilege access to the accessed classes (e.g. {@link MethodHandles#lookup()} called from the config class or the same module).<br>
+ * Members which can't be accessed using a hidden class are accessed using reflection instead.
+ */
+public class BytecodeClassAccess extends ReflectionClassAccess {
+
+    private final MethodHandles.Lookup lookup;
+
+    public BytecodeClassAccess(final MethodHandles.Lookup lookup, final Class<?> clazz) {
+        super(clazz);
+        this.lookup = lookup;
+    }
+
+    public BytecodeClassAccess(final MethodHandles.Lookup lookup, final Class<?> clazz, final boolean reverseInnerClasses) {
+        super(clazz, reverseInnerClasses);
+        this.lookup = lookup;
+    }
+
+    @Override
+    protected ConstructorAccess[] createConstructors() {
+        return ArrayUtils.map(this.clazz.getDeclaredConstructors(), constructor -> new BytecodeConstructorAccess(this.lookup, constructor), BytecodeConstructorAccess[]::new);
+    }
+
+    @Override
+    protected FieldAccess[] createFields() {
+        return ArrayUtils.map(this.clazz.getDeclaredFields(), field -> new BytecodeFieldAccess(this.lookup, field), BytecodeFieldAccess[]::new);
+    }
+
+    @Override
+    protected MethodAccess[] createMethods() {
+        return ArrayUtils.map(this.clazz.getDeclaredMethods(), method -> new BytecodeMethodAccess(this.lookup, method), BytecodeMethodAccess[]::new);
+    }
+
+    @Override
+    protected ClassAccess[] createInnerClasses() {
+        return ArrayUtils.map(this.clazz.getDeclaredClasses(), innerClass -> new BytecodeClassAccess(this.lookup, innerClass), BytecodeClassAccess[]::new);
+    }
+
+}
@@ -0,0 +1,49 @@
+package net.lenni0451.optconfig.access.impl.bytecode;
+
+import net.lenni0451.optconfig.access.impl.reflection.ReflectionConstructorAccess;
+import net.lenni0451.optconfig.access.types.ConstructorAccess;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+
+/**
+ * An implementation of {@link ConstructorAccess} using a generated hidden class.
+ */
+public class BytecodeConstructorAccess extends ReflectionConstructorAccess {
+
+    /**
+     * Marks constructors which can't be accessed by a generated accessor, so the generation is not attempted again.
+     */
+    private static final ConstructorAccessor UNAVAILABLE = args -> {
+        throw new IllegalStateException();
+    };
+
+    private final MethodHandles.Lookup lookup;
+    @Nullable
+    private volatile ConstructorAccessor accessor;
+
+    public BytecodeConstructorAccess(final MethodHandles.Lookup lookup, final Constructor<?> constructor) {
+        super(constructor);
+        this.lookup = lookup;
+    }
+
+    @Override
+    public Object newInstance(Object... args) {
+        ConstructorAccessor accessor = this.getAccessor();
+        if (accessor == null) return super.newInstance(args);
+        return accessor.newInstance(args);
+    }
+
+    @Nullable
+    private ConstructorAccessor getAccessor() {
+        ConstructorAccessor accessor = this.accessor;
+        if (accessor == null) {
+            accessor = AccessorGenerator.generate(this.lookup, this.constructor);
+            if (accessor == null) accessor = UNAVAILABLE;
+            this.accessor = accessor;
+        }
+        return accessor == UNAVAILABLE ? null : accessor;
+    }
+
+}
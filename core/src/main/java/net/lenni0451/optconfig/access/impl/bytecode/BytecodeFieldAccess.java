@@ -0,0 +1,66 @@
+package net.lenni0451.optconfig.access.impl.bytecode;
+
+import net.lenni0451.optconfig.access.impl.reflection.ReflectionFieldAccess;
+import net.lenni0451.optconfig.access.types.FieldAccess;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * An implementation of {@link FieldAccess} using a generated hidden class.<br>
+ * Final fields are written using reflection.
+ */
+public class BytecodeFieldAccess extends ReflectionFieldAccess {
+
+    /**
+     * Marks fields which can't be accessed by a generated accessor, so the generation is not attempted again.
+     */
+    private static final FieldAccessor UNAVAILABLE = new FieldAccessor() {
+        @Override
+        public Object get(final Object instance) {
+            throw new IllegalStateException();
+        }
+
+        @Override
+        public void set(final Object instance, final Object value) {
+            throw new IllegalStateException();
+        }
+    };
+
+    private final MethodHandles.Lookup lookup;
+    @Nullable
+    private volatile FieldAccessor accessor;
+
+    public BytecodeFieldAccess(final MethodHandles.Lookup lookup, final Field field) {
+        super(field);
+        this.lookup = lookup;
+    }
+
+    @Override
+    public Object getValue(Object instance) {
+        FieldAccessor accessor = this.getAccessor();
+        if (accessor == null) return super.getValue(instance);
+        return accessor.get(instance);
+    }
+
+    @Override
+    public void setValue(Object instance, Object value) {
+        FieldAccessor accessor = this.getAccessor();
+        if (accessor == null || Modifier.isFinal(this.field.getModifiers())) super.setValue(instance, value);
+        else accessor.set(instance, value);
+    }
+
+    @Nullable
+    private FieldAccessor getAccessor() {
+        FieldAccessor accessor = this.accessor;
+        if (accessor == null) {
+            accessor = AccessorGenerator.generate(this.lookup, this.field);
+            if (accessor == null) accessor = UNAVAILABLE;
+            this.accessor = accessor;
+        }
+        return accessor == UNAVAILABLE ? null : accessor;
+    }
+
+}
@@ -0,0 +1,49 @@
+package net.lenni0451.optconfig.access.impl.bytecode;
+
+import net.lenni0451.optconfig.access.impl.reflection.ReflectionMethodAccess;
+import net.lenni0451.optconfig.access.types.MethodAccess;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+
+/**
+ * An implementation of {@link MethodAccess} using a generated hidden class.
+ */
+public class BytecodeMethodAccess extends ReflectionMethodAccess {
+
+    /**
+     * Marks methods which can't be accessed by a generated accessor, so the generation is not attempted again.
+     */
+    private static final MethodAccessor UNAVAILABLE = (instance, args) -> {
+        throw new IllegalStateException();
+    };
+
+    private final MethodHandles.Lookup lookup;
+    @Nullable
+    private volatile MethodAccessor accessor;
+
+    public BytecodeMethodAccess(final MethodHandles.Lookup lookup, final Method method) {
+        super(method);
+        this.lookup = lookup;
+    }
+
+    @Override
+    public Object invoke(Object instance, Object... args) {
+        MethodAccessor accessor = this.getAccessor();
+        if (accessor == null) return super.invoke(instance, args);
+        return accessor.invoke(instance, args);
+    }
+
+    @Nullable
+    private MethodAccessor getAccessor() {
+        MethodAccessor accessor = this.accessor;
+        if (accessor == null) {
+            accessor = AccessorGenerator.generate(this.lookup, this.method);
+            if (accessor == null) accessor = UNAVAILABLE;
+            this.accessor = accessor;
+        }
+        return accessor == UNAVAILABLE ? null : accessor;
+    }
+
+}
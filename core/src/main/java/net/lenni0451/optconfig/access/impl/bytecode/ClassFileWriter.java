@@ -0,0 +1,179 @@
+package net.lenni0451.optconfig.access.impl.bytecode;
+
+import lombok.SneakyThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A minimal class file writer for the generated accessors.<br>
+ * Only the features required by the {@link AccessorGenerator} are supported. Most notably there are no stack map frames,
+ * so the generated code must not contain any branches.
+ */
+class ClassFileWriter {
+
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_FINAL = 0x0010;
+    static final int ACC_SUPER = 0x0020;
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int JAVA_17 = 61;
+
+    private final ByteArrayOutputStream constantPool = new ByteArrayOutputStream();
+    private final DataOutputStream constantPoolOut = new DataOutputStream(this.constantPool);
+    private final Map<String, Integer> constants = new HashMap<>();
+    private final List<byte[]> methods = new ArrayList<>();
+    private int constantCount = 1;
+
+    int utf8(final String value) {
+        return this.constant("U" + value, out -> {
+            out.writeByte(1);
+            out.writeUTF(value);
+        });
+    }
+
+    int classRef(final String internalName) {
+        int name = this.utf8(internalName);
+        return this.constant("C" + internalName, out -> {
+            out.writeByte(7);
+            out.writeShort(name);
+        });
+    }
+
+    int fieldRef(final String owner, final String name, final String descriptor) {
+        return this.memberRef(9, owner, name, descriptor);
+    }
+
+    int methodRef(final String owner, final String name, final String descriptor) {
+        return this.memberRef(10, owner, name, descriptor);
+    }
+
+    /**
+     * Add a method to the class.
+     *
+     * @param access     The access flags of the method
+     * @param name       The name of the method
+     * @param descriptor The descriptor of the method
+     * @param maxStack   The maximum stack size
+     * @param maxLocals  The maximum amount of locals (including {@code this})
+     * @param code       The code of the method
+     */
+    @SneakyThrows
+    void method(final int access, final String name, final String descriptor, final int maxStack, final int maxLocals, final Code code) {
+        ByteArrayOutputStream method = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(method);
+        byte[] bytes = code.toByteArray();
+        out.writeShort(access);
+        out.writeShort(this.utf8(name));
+        out.writeShort(this.utf8(descriptor));
+        out.writeShort(1); //Attribute count
+        out.writeShort(this.utf8("Code"));
+        out.writeInt(2 + 2 + 4 + bytes.length + 2 + 2); //Attribute length
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.writeShort(0); //Exception table length
+        out.writeShort(0); //Attribute count
+        this.methods.add(method.toByteArray());
+    }
+
+    /**
+     * Assemble the class file.
+     *
+     * @param name          The internal name of the class
+     * @param superName     The internal name of the super class
+     * @param interfaceName The internal name of the implemented interface
+     * @return The class file bytes
+     */
+    @SneakyThrows
+    byte[] toByteArray(final String name, final String superName, final String interfaceName) {
+        int thisClass = this.classRef(name);
+        int superClass = this.classRef(superName);
+        int interfaceClass = this.classRef(interfaceName);
+
+        ByteArrayOutputStream classFile = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(classFile);
+        out.writeInt(MAGIC);
+        out.writeShort(0); //Minor version
+        out.writeShort(JAVA_17);
+        out.writeShort(this.constantCount);
+        this.constantPool.writeTo(out);
+        out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        out.writeShort(1); //Interface count
+        out.writeShort(interfaceClass);
+        out.writeShort(0); //Field count
+        out.writeShort(this.methods.size());
+        for (byte[] method : this.methods) out.write(method);
+        out.writeShort(0); //Attribute count
+        return classFile.toByteArray();
+    }
+
+    private int memberRef(final int tag, final String owner, final String name, final String descriptor) {
+        int ownerClass = this.classRef(owner);
+        int nameUtf8 = this.utf8(name);
+        int descriptorUtf8 = this.utf8(descriptor);
+        int nameAndType = this.constant("N" + name + ":" + descriptor, out -> {
+            out.writeByte(12);
+            out.writeShort(nameUtf8);
+            out.writeShort(descriptorUtf8);
+        });
+        return this.constant(tag + owner + "." + name + ":" + descriptor, out -> {
+            out.writeByte(tag);
+            out.writeShort(ownerClass);
+            out.writeShort(nameAndType);
+        });
+    }
+
+    @SneakyThrows
+    private int constant(final String key, final ConstantWriter writer) {
+        Integer index = this.constants.get(key);
+        if (index != null) return index;
+        writer.write(this.constantPoolOut);
+        index = this.constantCount++;
+        this.constants.put(key, index);
+        return index;
+    }
+
+
+    @FunctionalInterface
+    private interface ConstantWriter {
+        void write(final DataOutputStream out) throws Exception;
+    }
+
+    /**
+     * The bytecode of a single method.
+     */
+    static class Code {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Code op(final int opcode) {
+            this.bytes.write(opcode);
+            return this;
+        }
+
+        Code op(final int opcode, final int operand) {
+            this.bytes.write(opcode);
+            this.bytes.write(operand >> 8);
+            this.bytes.write(operand);
+            return this;
+        }
+
+        Code pushInt(final int value) {
+            if (value <= 5) return this.op(0x03 + value); //iconst_<n>
+            if (value <= Byte.MAX_VALUE) return this.op(0x10).op(value); //bipush
+            return this.op(0x11, value); //sipush
+        }
+
+        byte[] toByteArray() {
+            return this.bytes.toByteArray();
+        }
+    }
+
+}
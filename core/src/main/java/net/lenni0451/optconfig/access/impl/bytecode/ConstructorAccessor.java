@@ -0,0 +1,13 @@
+package net.lenni0451.optconfig.access.impl.bytecode;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * The interface implemented by the hidden classes generated by the {@link AccessorGenerator} for constructors.
+ */
+@ApiStatus.Internal
+public interface ConstructorAccessor {
+
+    Object newInstance(final Object[] args);
+
+}
@@ -0,0 +1,22 @@
+package net.lenni0451.optconfig.access.impl.bytecode;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * The interface implemented by the hidden classes generated by the {@link AccessorGenerator} for fields.
+ */
+@ApiStatus.Internal
+public interface FieldAccessor {
+
+    Object get(final Object instance);
+
+    /**
+     * Set the value of the field.<br>
+     * Accessors of final fields throw an {@link UnsupportedOperationException}.
+     *
+     * @param instance The instance or null for static fields
+     * @param value    The new value
+     */
+    void set(final Object instance, final Object value);
+
+}
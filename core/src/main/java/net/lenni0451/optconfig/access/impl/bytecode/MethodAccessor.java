@@ -0,0 +1,13 @@
+package net.lenni0451.optconfig.access.impl.bytecode;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * The interface implemented by the hidden classes generated by the {@link AccessorGenerator} for methods.
+ */
+@ApiStatus.Internal
+public interface MethodAccessor {
+
+    Object invoke(final Object instance, final Object[] args);
+
+}
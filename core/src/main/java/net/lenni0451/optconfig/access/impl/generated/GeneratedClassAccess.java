@@ -0,0 +1,242 @@
+package net.lenni0451.optconfig.access.impl.generated;
+
+import lombok.SneakyThrows;
+import net.lenni0451.optconfig.access.ClassAccessFactory;
+import net.lenni0451.optconfig.access.impl.reflection.ReflectionConstructorAccess;
+import net.lenni0451.optconfig.access.impl.reflection.ReflectionFieldAccess;
+import net.lenni0451.optconfig.access.impl.reflection.ReflectionMethodAccess;
+import net.lenni0451.optconfig.access.types.ClassAccess;
+import net.lenni0451.optconfig.access.types.ConstructorAccess;
+import net.lenni0451.optconfig.access.types.FieldAccess;
+import net.lenni0451.optconfig.access.types.MethodAccess;
+import net.lenni0451.optconfig.utils.ArrayUtils;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * The base class of the class accesses generated by the optconfig annotation processor.<br>
+ * Members which are accessible from the package of the class are accessed directly without reflection.
+ * Private members are looked up using reflection when the class access is created.<br>
+ * The generated classes are named like the accessed class with {@link #SUFFIX} appended.
+ */
+public abstract class GeneratedClassAccess implements ClassAccess {
+
+    /**
+     * The suffix appended to the binary name of the accessed class.
+     */
+    public static final String SUFFIX = "$$OptConfigAccess";
+    /**
+     * The version of the generated code.<br>
+     * Generated classes with a different version are ignored.
+     */
+    public static final int VERSION = 1;
+
+    private final Class<?> clazz;
+    private final ClassAccessFactory classAccessFactory;
+    @Nullable
+    private volatile ConstructorAccess[] constructors;
+    @Nullable
+    private volatile FieldAccess[] fields;
+    @Nullable
+    private volatile MethodAccess[] methods;
+    @Nullable
+    private volatile ClassAccess[] innerClasses;
+    @Nullable
+    private volatile Annotation[] annotations;
+
+    protected GeneratedClassAccess(final Class<?> clazz, final ClassAccessFactory classAccessFactory) {
+        this.clazz = clazz;
+        this.classAccessFactory = classAccessFactory;
+    }
+
+    /**
+     * @return The version of the processor which generated this class
+     */
+    public abstract int getVersion();
+
+    @Override
+    public Class<?> getClazz() {
+        return this.clazz;
+    }
+
+    @Override
+    @SneakyThrows
+    public ConstructorAccess[] getConstructors() {
+        ConstructorAccess[] constructors = this.constructors;
+        if (constructors == null) {
+            constructors = this.createConstructors();
+            this.constructors = constructors;
+        }
+        return constructors;
+    }
+
+    @Override
+    @SneakyThrows
+    public FieldAccess[] getFields() {
+        FieldAccess[] fields = this.fields;
+        if (fields == null) {
+            fields = this.createFields();
+            this.fields = fields;
+        }
+        return fields;
+    }
+
+    @Override
+    @SneakyThrows
+    public MethodAccess[] getMethods() {
+        MethodAccess[] methods = this.methods;
+        if (methods == null) {
+            methods = this.createMethods();
+            this.methods = methods;
+        }
+        return methods;
+    }
+
+    @Override
+    @SneakyThrows
+    public ClassAccess[] getInnerClasses() {
+        ClassAccess[] innerClasses = this.innerClasses;
+        if (innerClasses == null) {
+            innerClasses = ArrayUtils.map(this.createInnerClasses(), this.classAccessFactory::create, ClassAccess[]::new);
+            this.innerClasses = innerClasses;
+        }
+        return innerClasses;
+    }
+
+    @Override
+    @SneakyThrows
+    public <T extends Annotation> T getAnnotation(final Class<T> annotationClass) {
+        Annotation[] annotations = this.annotations;
+        if (annotations == null) {
+            annotations = this.createAnnotations();
+            this.annotations = annotations;
+        }
+        return findAnnotation(annotations, annotationClass);
+    }
+
+    protected abstract ConstructorAccess[] createConstructors() throws ReflectiveOperationException;
+
+    protected abstract FieldAccess[] createFields() throws ReflectiveOperationException;
+
+    protected abstract MethodAccess[] createMethods() throws ReflectiveOperationException;
+
+    /**
+     * @return The inner classes in declaration order
+     * @throws ReflectiveOperationException If an inaccessible inner class could not be found
+     */
+    protected abstract Class<?>[] createInnerClasses() throws ReflectiveOperationException;
+
+    protected abstract Annotation[] createAnnotations() throws ReflectiveOperationException;
+
+    /**
+     * Create a field which is accessed directly.
+     *
+     * @param name        The name of the field
+     * @param type        The type of the field
+     * @param genericType The generic type of the field or null if it has to be looked up using reflection
+     * @param modifiers   The modifiers of the field
+     * @param getter      The getter of the field
+     * @param setter      The setter of the field or null if the field is final
+     * @param annotations The runtime visible annotations of the field
+     * @return The field access
+     */
+    protected final FieldAccess field(final String name, final Class<?> type, @Nullable final Type genericType, final int modifiers,
+                                      final Function<Object, Object> getter, @Nullable final BiConsumer<Object, Object> setter, final Annotation... annotations) {
+        return new GeneratedFieldAccess(this.clazz, name, type, genericType, modifiers, getter, setter, annotations);
+    }
+
+    /**
+     * Create a method which is invoked directly.
+     *
+     * @param name           The name of the method
+     * @param returnType     The return type of the method
+     * @param parameterTypes The parameter types of the method
+     * @param modifiers      The modifiers of the method
+     * @param invoker        The invoker of the method
+     * @param annotations    The runtime visible annotations of the method
+     * @return The method access
+     */
+    protected final MethodAccess method(final String name, final Class<?> returnType, final Class<?>[] parameterTypes, final int modifiers,
+                                        final MethodInvoker invoker, final Annotation... annotations) {
+        return new GeneratedMethodAccess(name, returnType, parameterTypes, modifiers, invoker, annotations);
+    }
+
+    /**
+     * Create a constructor which is invoked directly.
+     *
+     * @param parameterTypes The parameter types of the constructor
+     * @param factory        The factory creating the instance
+     * @return The constructor access
+     */
+    protected final ConstructorAccess constructor(final Class<?>[] parameterTypes, final Function<Object[], Object> factory) {
+        return new GeneratedConstructorAccess(parameterTypes, factory);
+    }
+
+    /**
+     * Look up a field which is not accessible from the generated class.
+     *
+     * @param name The name of the field
+     * @return The field access
+     * @throws ReflectiveOperationException If the field could not be found
+     */
+    protected final FieldAccess reflectedField(final String name) throws ReflectiveOperationException {
+        return new ReflectionFieldAccess(this.clazz.getDeclaredField(name));
+    }
+
+    /**
+     * Look up a method which is not accessible from the generated class.
+     *
+     * @param name           The name of the method
+     * @param parameterTypes The parameter types of the method
+     * @return The method access
+     * @throws ReflectiveOperationException If the method could not be found
+     */
+    protected final MethodAccess reflectedMethod(final String name, final Class<?>... parameterTypes) throws ReflectiveOperationException {
+        return new ReflectionMethodAccess(this.clazz.getDeclaredMethod(name, parameterTypes));
+    }
+
+    /**
+     * Look up a constructor which is not accessible from the generated class.
+     *
+     * @param parameterTypes The parameter types of the constructor
+     * @return The constructor access
+     * @throws ReflectiveOperationException If the constructor could not be found
+     */
+    protected final ConstructorAccess reflectedConstructor(final Class<?>... parameterTypes) throws ReflectiveOperationException {
+        return new ReflectionConstructorAccess(this.clazz.getDeclaredConstructor(parameterTypes));
+    }
+
+    /**
+     * Look up a class which is not accessible from the generated class.
+     *
+     * @param name The binary name of the class
+     * @return The class
+     * @throws ReflectiveOperationException If the class could not be found
+     */
+    protected final Class<?> reflectedClass(final String name) throws ReflectiveOperationException {
+        return Class.forName(name, false, this.clazz.getClassLoader());
+    }
+
+    @Nullable
+    static <T extends Annotation> T findAnnotation(final Annotation[] annotations, final Class<T> annotationClass) {
+        for (Annotation annotation : annotations) {
+            if (annotation.annotationType() == annotationClass) return annotationClass.cast(annotation);
+        }
+        return null;
+    }
+
+
+    /**
+     * Invokes a method with the given instance and arguments.<br>
+     * Void methods return null.
+     */
+    @FunctionalInterface
+    public interface MethodInvoker {
+        Object invoke(final Object instance, final Object[] args);
+    }
+
+}
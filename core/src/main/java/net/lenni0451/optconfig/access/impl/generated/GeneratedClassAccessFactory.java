@@ -0,0 +1,52 @@
+package net.lenni0451.optconfig.access.impl.generated;
+
+import net.lenni0451.optconfig.access.ClassAccessFactory;
+import net.lenni0451.optconfig.access.types.ClassAccess;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ClassAccessFactory} using the class accesses generated by the optconfig annotation processor.<br>
+ * If no generated class access exists for a class or it was generated by an incompatible version,
+ * the fallback factory is used instead.
+ */
+public class GeneratedClassAccessFactory implements ClassAccessFactory {
+
+    private final ClassAccessFactory fallback;
+
+    public GeneratedClassAccessFactory(final ClassAccessFactory fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * @return The factory used for classes without a generated class access
+     */
+    public ClassAccessFactory getFallback() {
+        return this.fallback;
+    }
+
+    @Override
+    public ClassAccess create(final Class<?> clazz) {
+        GeneratedClassAccess generated = this.loadGenerated(clazz);
+        if (generated != null) return generated;
+        return this.fallback.create(clazz);
+    }
+
+    @Nullable
+    private GeneratedClassAccess loadGenerated(final Class<?> clazz) {
+        //Classes of the JDK can't have generated accesses
+        if (clazz.isPrimitive() || clazz.isArray() || clazz.isHidden() || clazz.getClassLoader() == null) return null;
+        try {
+            Class<?> generatedClass = Class.forName(clazz.getName() + GeneratedClassAccess.SUFFIX, true, clazz.getClassLoader());
+            if (!GeneratedClassAccess.class.isAssignableFrom(generatedClass)) return null;
+            GeneratedClassAccess generated = (GeneratedClassAccess) generatedClass.getConstructor(ClassAccessFactory.class).newInstance(this);
+            if (generated.getVersion() != GeneratedClassAccess.VERSION || generated.getClazz() != clazz) return null;
+            return generated;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create the generated class access for " + clazz.getName(), e);
+        }
+    }
+
+}
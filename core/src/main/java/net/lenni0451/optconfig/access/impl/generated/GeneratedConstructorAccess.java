@@ -0,0 +1,30 @@
+package net.lenni0451.optconfig.access.impl.generated;
+
+import net.lenni0451.optconfig.access.types.ConstructorAccess;
+
+import java.util.function.Function;
+
+/**
+ * An implementation of {@link ConstructorAccess} using a generated factory.
+ */
+class GeneratedConstructorAccess implements ConstructorAccess {
+
+    private final Class<?>[] parameterTypes;
+    private final Function<Object[], Object> factory;
+
+    GeneratedConstructorAccess(final Class<?>[] parameterTypes, final Function<Object[], Object> factory) {
+        this.parameterTypes = parameterTypes;
+        this.factory = factory;
+    }
+
+    @Override
+    public Class<?>[] getParameterTypes() {
+        return this.parameterTypes.clone();
+    }
+
+    @Override
+    public Object newInstance(final Object... args) {
+        return this.factory.apply(args);
+    }
+
+}
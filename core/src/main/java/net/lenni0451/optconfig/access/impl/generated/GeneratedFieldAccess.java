@@ -0,0 +1,90 @@
+package net.lenni0451.optconfig.access.impl.generated;
+
+import lombok.SneakyThrows;
+import net.lenni0451.optconfig.access.types.FieldAccess;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * An implementation of {@link FieldAccess} using generated getters and setters.<br>
+ * Final fields are written and generic types which could not be generated are looked up using reflection.
+ */
+class GeneratedFieldAccess implements FieldAccess {
+
+    private final Class<?> owner;
+    private final String name;
+    private final Class<?> type;
+    @Nullable
+    private volatile Type genericType;
+    private final int modifiers;
+    private final Function<Object, Object> getter;
+    @Nullable
+    private final BiConsumer<Object, Object> setter;
+    private final Annotation[] annotations;
+
+    GeneratedFieldAccess(final Class<?> owner, final String name, final Class<?> type, @Nullable final Type genericType, final int modifiers,
+                         final Function<Object, Object> getter, @Nullable final BiConsumer<Object, Object> setter, final Annotation[] annotations) {
+        this.owner = owner;
+        this.name = name;
+        this.type = type;
+        this.genericType = genericType;
+        this.modifiers = modifiers;
+        this.getter = getter;
+        this.setter = setter;
+        this.annotations = annotations;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public Class<?> getType() {
+        return this.type;
+    }
+
+    @Override
+    @SneakyThrows
+    public Type getGenericType() {
+        Type genericType = this.genericType;
+        if (genericType == null) {
+            genericType = this.owner.getDeclaredField(this.name).getGenericType();
+            this.genericType = genericType;
+        }
+        return genericType;
+    }
+
+    @Override
+    public int getModifiers() {
+        return this.modifiers;
+    }
+
+    @Override
+    public Object getValue(final Object instance) {
+        return this.getter.apply(instance);
+    }
+
+    @Override
+    @SneakyThrows
+    public void setValue(final Object instance, final Object value) {
+        if (this.setter != null) {
+            this.setter.accept(instance, value);
+        } else {
+            Field field = this.owner.getDeclaredField(this.name);
+            field.setAccessible(true);
+            field.set(instance, value);
+        }
+    }
+
+    @Override
+    public <T extends Annotation> T getAnnotation(final Class<T> annotationClass) {
+        return GeneratedClassAccess.findAnnotation(this.annotations, annotationClass);
+    }
+
+}
@@ -0,0 +1,64 @@
+package net.lenni0451.optconfig.access.impl.generated;
+
+import net.lenni0451.optconfig.access.types.MethodAccess;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * An implementation of {@link MethodAccess} using a generated invoker.
+ */
+class GeneratedMethodAccess implements MethodAccess {
+
+    private final String name;
+    private final Class<?> returnType;
+    private final Class<?>[] parameterTypes;
+    private final int modifiers;
+    private final GeneratedClassAccess.MethodInvoker invoker;
+    private final Annotation[] annotations;
+
+    GeneratedMethodAccess(final String name, final Class<?> returnType, final Class<?>[] parameterTypes, final int modifiers, final GeneratedClassAccess.MethodInvoker invoker, final Annotation[] annotations) {
+        this.name = name;
+        this.returnType = returnType;
+        this.parameterTypes = parameterTypes;
+        this.modifiers = modifiers;
+        this.invoker = invoker;
+        this.annotations = annotations;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public int getModifiers() {
+        return this.modifiers;
+    }
+
+    @Override
+    public int getParameterCount() {
+        return this.parameterTypes.length;
+    }
+
+    @Override
+    public Class<?> getReturnType() {
+        return this.returnType;
+    }
+
+    @Override
+    public Class<?>[] getParameterTypes() {
+        return this.parameterTypes.clone();
+    }
+
+    @Override
+    public <T extends Annotation> T getAnnotation(final Class<T> annotationClass) {
+        return GeneratedClassAccess.findAnnotation(this.annotations, annotationClass);
+    }
+
+    @Override
+    public Object invoke(final Object instance, final Object... args) {
+        return this.invoker.invoke(instance, args);
+    }
+
+
+}
@@ -27,25 +27,23 @@ public class MethodHandleClassAccess extends ReflectionClassAccess {
     }
 
     @Override
-    public ConstructorAccess[] getConstructors() {
+    protected ConstructorAccess[] createConstructors() {
         return ArrayUtils.map(this.clazz.getDeclaredConstructors(), constructor -> new MethodHandleConstructorAccess(this.lookup, constructor), MethodHandleConstructorAccess[]::new);
     }
 
     @Override
-    public FieldAccess[] getFields() {
+    protected FieldAccess[] createFields() {
         return ArrayUtils.map(this.clazz.getDeclaredFields(), field -> new MethodHandleFieldAccess(this.lookup, field), MethodHandleFieldAccess[]::new);
     }
 
     @Override
-    public MethodAccess[] getMethods() {
+    protected MethodAccess[] createMethods() {
         return ArrayUtils.map(this.clazz.getDeclaredMethods(), method -> new MethodHandleMethodAccess(this.lookup, method), MethodHandleMethodAccess[]::new);
     }
 
     @Override
-    public ClassAccess[] getInnerClasses() {
-        ClassAccess[] classAccesses = ArrayUtils.map(this.clazz.getDeclaredClasses(), innerClass -> new MethodHandleClassAccess(this.lookup, innerClass), MethodHandleClassAccess[]::new);
-        if (this.reverseInnerClasses) ArrayUtils.reverse(classAccesses);
-        return classAccesses;
+    protected ClassAccess[] createInnerClasses() {
+        return ArrayUtils.map(this.clazz.getDeclaredClasses(), innerClass -> new MethodHandleClassAccess(this.lookup, innerClass), MethodHandleClassAccess[]::new);
     }
 
 }
@@ -4,7 +4,10 @@ import lombok.SneakyThrows;
 import net.lenni0451.optconfig.access.impl.reflection.ReflectionConstructorAccess;
 import net.lenni0451.optconfig.access.types.ConstructorAccess;
 
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 
 /**
@@ -12,7 +15,11 @@ import java.lang.reflect.Constructor;
  */
 public class MethodHandleConstructorAccess extends ReflectionConstructorAccess {
 
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
     final MethodHandles.Lookup lookup;
+    @Nullable
+    private MethodHandle invoker;
 
     public MethodHandleConstructorAccess(final MethodHandles.Lookup lookup, final Constructor<?> constructor) {
         super(constructor);
@@ -22,7 +29,14 @@ public class MethodHandleConstructorAccess extends ReflectionConstructorAccess {
     @Override
     @SneakyThrows
     public Object newInstance(Object... args) {
-        return this.lookup.unreflectConstructor(this.constructor).invokeWithArguments(args);
+        MethodHandle invoker = this.invoker;
+        if (invoker == null) {
+            invoker = this.lookup.unreflectConstructor(this.constructor).asFixedArity();
+            invoker = invoker.asSpreader(Object[].class, this.constructor.getParameterCount());
+            invoker = invoker.asType(INVOKER_TYPE);
+            this.invoker = invoker;
+        }
+        return (Object) invoker.invokeExact(args);
     }
 
 }
@@ -4,15 +4,26 @@ import lombok.SneakyThrows;
 import net.lenni0451.optconfig.access.impl.reflection.ReflectionFieldAccess;
 import net.lenni0451.optconfig.access.types.FieldAccess;
 
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 
 /**
  * A default implementation of {@link FieldAccess} using method handles.
  */
 public class MethodHandleFieldAccess extends ReflectionFieldAccess {
 
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
     final MethodHandles.Lookup lookup;
+    @Nullable
+    private MethodHandle getter;
+    @Nullable
+    private MethodHandle setter;
 
     public MethodHandleFieldAccess(final MethodHandles.Lookup lookup, final Field field) {
         super(field);
@@ -22,13 +33,29 @@ public class MethodHandleFieldAccess extends ReflectionFieldAccess {
     @Override
     @SneakyThrows
     public Object getValue(Object instance) {
-        return this.lookup.unreflectGetter(this.field).invoke(instance);
+        MethodHandle getter = this.getter;
+        if (getter == null) {
+            //Adapt the getter to (Object)Object, static getters ignore the instance
+            getter = this.lookup.unreflectGetter(this.field);
+            if (Modifier.isStatic(this.field.getModifiers())) getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            getter = getter.asType(GETTER_TYPE);
+            this.getter = getter;
+        }
+        return (Object) getter.invokeExact(instance);
     }
 
     @Override
     @SneakyThrows
     public void setValue(Object instance, Object value) {
-        this.lookup.unreflectSetter(this.field).invoke(instance, value);
+        MethodHandle setter = this.setter;
+        if (setter == null) {
+            //The setter is created lazily because final fields can't be unreflected
+            setter = this.lookup.unreflectSetter(this.field);
+            if (Modifier.isStatic(this.field.getModifiers())) setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            setter = setter.asType(SETTER_TYPE);
+            this.setter = setter;
+        }
+        setter.invokeExact(instance, value);
     }
 
 }
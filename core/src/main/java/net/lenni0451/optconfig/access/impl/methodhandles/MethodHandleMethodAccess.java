@@ -4,15 +4,23 @@ import lombok.SneakyThrows;
 import net.lenni0451.optconfig.access.impl.reflection.ReflectionMethodAccess;
 import net.lenni0451.optconfig.access.types.MethodAccess;
 
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 /**
  * A default implementation of {@link MethodAccess} using method handles.
  */
 public class MethodHandleMethodAccess extends ReflectionMethodAccess {
 
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
     private final MethodHandles.Lookup lookup;
+    @Nullable
+    private MethodHandle invoker;
 
     public MethodHandleMethodAccess(final MethodHandles.Lookup lookup, final Method method) {
         super(method);
@@ -22,7 +30,16 @@ public class MethodHandleMethodAccess extends ReflectionMethodAccess {
     @Override
     @SneakyThrows
     public Object invoke(Object instance, Object... args) {
-        return this.lookup.unreflect(this.method).asSpreader(Object[].class, args.length).invoke(instance, args);
+        MethodHandle invoker = this.invoker;
+        if (invoker == null) {
+            //Adapt the method to (Object, Object[])Object, static methods ignore the instance
+            invoker = this.lookup.unreflect(this.method).asFixedArity();
+            if (Modifier.isStatic(this.method.getModifiers())) invoker = MethodHandles.dropArguments(invoker, 0, Object.class);
+            invoker = invoker.asSpreader(Object[].class, this.method.getParameterCount());
+            invoker = invoker.asType(INVOKER_TYPE);
+            this.invoker = invoker;
+        }
+        return (Object) invoker.invokeExact(instance, args);
     }
 
 }
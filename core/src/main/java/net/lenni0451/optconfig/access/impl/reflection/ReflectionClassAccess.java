@@ -6,15 +6,26 @@ import net.lenni0451.optconfig.access.types.FieldAccess;
 import net.lenni0451.optconfig.access.types.MethodAccess;
 import net.lenni0451.optconfig.utils.ArrayUtils;
 
+import javax.annotation.Nullable;
 import java.lang.annotation.Annotation;
 
 /**
- * A default implementation of {@link ClassAccess} using reflection.
+ * A default implementation of {@link ClassAccess} using reflection.<br>
+ * The constructors, fields, methods and inner classes are only gathered once and cached.
+ * The returned arrays are shared and must not be modified.
  */
 public class ReflectionClassAccess implements ClassAccess {
 
     protected final Class<?> clazz;
     protected boolean reverseInnerClasses;
+    @Nullable
+    private volatile ConstructorAccess[] constructors;
+    @Nullable
+    private volatile FieldAccess[] fields;
+    @Nullable
+    private volatile MethodAccess[] methods;
+    @Nullable
+    private volatile ClassAccess[] innerClasses;
 
     public ReflectionClassAccess(final Class<?> clazz) {
         this(clazz, true);
@@ -32,24 +43,59 @@ public class ReflectionClassAccess implements ClassAccess {
 
     @Override
     public ConstructorAccess[] getConstructors() {
-        return ArrayUtils.map(this.clazz.getDeclaredConstructors(), ReflectionConstructorAccess::new, ReflectionConstructorAccess[]::new);
+        ConstructorAccess[] constructors = this.constructors;
+        if (constructors == null) {
+            constructors = this.createConstructors();
+            this.constructors = constructors;
+        }
+        return constructors;
     }
 
     @Override
     public FieldAccess[] getFields() {
-        return ArrayUtils.map(this.clazz.getDeclaredFields(), ReflectionFieldAccess::new, ReflectionFieldAccess[]::new);
+        FieldAccess[] fields = this.fields;
+        if (fields == null) {
+            fields = this.createFields();
+            this.fields = fields;
+        }
+        return fields;
     }
 
     @Override
     public MethodAccess[] getMethods() {
-        return ArrayUtils.map(this.clazz.getDeclaredMethods(), ReflectionMethodAccess::new, ReflectionMethodAccess[]::new);
+        MethodAccess[] methods = this.methods;
+        if (methods == null) {
+            methods = this.createMethods();
+            this.methods = methods;
+        }
+        return methods;
     }
 
     @Override
     public ClassAccess[] getInnerClasses() {
-        ClassAccess[] classAccesses = ArrayUtils.map(this.clazz.getDeclaredClasses(), ReflectionClassAccess::new, ReflectionClassAccess[]::new);
-        if (this.reverseInnerClasses) ArrayUtils.reverse(classAccesses);
-        return classAccesses;
+        ClassAccess[] innerClasses = this.innerClasses;
+        if (innerClasses == null) {
+            innerClasses = this.createInnerClasses();
+            if (this.reverseInnerClasses) ArrayUtils.reverse(innerClasses);
+            this.innerClasses = innerClasses;
+        }
+        return innerClasses;
+    }
+
+    protected ConstructorAccess[] createConstructors() {
+        return ArrayUtils.map(this.clazz.getDeclaredConstructors(), ReflectionConstructorAccess::new, ReflectionConstructorAccess[]::new);
+    }
+
+    protected FieldAccess[] createFields() {
+        return ArrayUtils.map(this.clazz.getDeclaredFields(), ReflectionFieldAccess::new, ReflectionFieldAccess[]::new);
+    }
+
+    protected MethodAccess[] createMethods() {
+        return ArrayUtils.map(this.clazz.getDeclaredMethods(), ReflectionMethodAccess::new, ReflectionMethodAccess[]::new);
+    }
+
+    protected ClassAccess[] createInnerClasses() {
+        return ArrayUtils.map(this.clazz.getDeclaredClasses(), ReflectionClassAccess::new, ReflectionClassAccess[]::new);
     }
 
     @Override
@@ -1,5 +1,7 @@
 package net.lenni0451.optconfig.annotations;
 
+import net.lenni0451.optconfig.ConfigContext;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -53,6 +55,19 @@ public @interface Section {
      */
     Type type() default Type.PARENT;
 
+    /**
+     * Lazily deserialize the values of this section.<br>
+     * The loaded values are kept in memory and only deserialized into the section instance when it is accessed
+     * using {@link ConfigContext#getSection(Object)} or when the config is saved. Until then, the section instance contains the default values.
+     * <b>Always read the section through the context</b>, reading it directly returns the default values.
+     * Options written directly before the section is deserialized keep the written value.<br>
+     * Exceptions thrown by the deserializer exception handler are thrown when the section is accessed.<br>
+     * Only instanced sections can be deserialized lazily, static sections are always deserialized directly.
+     *
+     * @return If the section should be deserialized lazily
+     */
+    boolean lazy() default false;
+
 
     enum Type {
         /**
@@ -23,4 +23,13 @@ public @interface TypeSerializer {
      */
     Class<? extends ConfigTypeSerializer> value();
 
+    /**
+     * Set if the type serializer keeps state between uses.<br>
+     * By default, one instance of the type serializer is created per config loader and reused for all options using it.<br>
+     * Stateful type serializers get a new instance every time they are used.
+     *
+     * @return If the type serializer is stateful
+     */
+    boolean stateful() default false;
+
 }
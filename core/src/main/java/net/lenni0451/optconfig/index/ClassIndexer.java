@@ -1,6 +1,7 @@
 package net.lenni0451.optconfig.index;
 
 import net.lenni0451.optconfig.ConfigLoader;
+import net.lenni0451.optconfig.access.CachingClassAccessFactory;
 import net.lenni0451.optconfig.access.ClassAccessFactory;
 import net.lenni0451.optconfig.access.types.ClassAccess;
 import net.lenni0451.optconfig.access.types.FieldAccess;
@@ -25,18 +26,23 @@ import javax.annotation.Nullable;
 import java.lang.annotation.Annotation;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ApiStatus.Internal
 public class ClassIndexer {
 
     private static final Annotation[] NO_EXTRA_ANNOTATIONS = new Annotation[0];
+    private static final ClassValue<Map<IndexKey, ConfigIndex>> INDEX_CACHE = new ClassValue<>() {
+        @Override
+        protected Map<IndexKey, ConfigIndex> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
 
     @SafeVarargs
     public static <C> ConfigIndex indexClassAndInit(final ConfigType configType, final ConfigLoader<C> configLoader, @Nullable final C config, final Class<? extends Annotation>... extraAnnotations) {
-        SectionIndex index = ClassIndexer.indexClass(configType, configLoader.getConfigClass(), config, configLoader.getConfigOptions().getClassAccessFactory(), extraAnnotations);
-        if (!(index instanceof ConfigIndex configIndex)) throw new ConfigNotAnnotatedException(configLoader.getConfigClass());
-        if (index.isEmpty()) throw new EmptyConfigException(configLoader.getConfigClass());
         switch (configType) {
             case STATIC -> {
                 if (config != null) {
@@ -49,16 +55,82 @@ public class ClassIndexer {
                 }
             }
         }
+        ConfigIndex configIndex = getIndex(configType, configLoader, extraAnnotations);
+        initSections(configIndex, config, configLoader.getConfigOptions().getClassAccessFactory());
+        return configIndex;
+    }
+
+    /**
+     * Get the index of the config class of the given loader without initializing any sections.<br>
+     * If index caching is enabled and the class access factory is a {@link CachingClassAccessFactory}, the cached index is returned.
+     * The index is cached per class access factory. Indices created by other factories are never cached.
+     *
+     * @param configType       The type of the config
+     * @param configLoader     The config loader
+     * @param extraAnnotations Additional annotations to index
+     * @return The config index
+     */
+    @SafeVarargs
+    public static ConfigIndex getIndex(final ConfigType configType, final ConfigLoader<?> configLoader, final Class<? extends Annotation>... extraAnnotations) {
+        ClassAccessFactory classAccessFactory = configLoader.getConfigOptions().getClassAccessFactory();
+        //Factories are compared by identity, only caching factories are meant to be shared between loaders
+        if (configLoader.getConfigOptions().isCacheClassIndex() && classAccessFactory instanceof CachingClassAccessFactory) {
+            //The index only contains the structure of the config class and can be shared between all loaders and instances
+            IndexKey key = new IndexKey(configType, List.of(extraAnnotations), classAccessFactory);
+            return INDEX_CACHE.get(configLoader.getConfigClass()).computeIfAbsent(key, k -> indexConfigClass(configType, configLoader.getConfigClass(), classAccessFactory, extraAnnotations));
+        } else {
+            return indexConfigClass(configType, configLoader.getConfigClass(), classAccessFactory, extraAnnotations);
+        }
+    }
+
+    private static ConfigIndex indexConfigClass(final ConfigType configType, final Class<?> clazz, final ClassAccessFactory classAccessFactory, final Class<? extends Annotation>[] extraAnnotations) {
+        SectionIndex index = ClassIndexer.indexClass(configType, clazz, classAccessFactory, extraAnnotations);
+        if (!(index instanceof ConfigIndex configIndex)) throw new ConfigNotAnnotatedException(clazz);
+        if (index.isEmpty()) throw new EmptyConfigException(clazz);
         return configIndex;
     }
 
+    /**
+     * Index the structure of a class without binding it to an instance.<br>
+     * The returned index can be shared between all instances of the class.
+     *
+     * @param configType         The type of the config
+     * @param clazz              The class to index
+     * @param classAccessFactory The factory to create the class access
+     * @param extraAnnotations   Additional annotations which should be stored in the options
+     * @return The created section index
+     */
     @SafeVarargs
-    public static <C> SectionIndex indexClass(final ConfigType configType, final Class<C> clazz, final C config, final ClassAccessFactory classAccessFactory, final Class<? extends Annotation>... extraAnnotations) {
+    public static SectionIndex indexClass(final ConfigType configType, final Class<?> clazz, final ClassAccessFactory classAccessFactory, final Class<? extends Annotation>... extraAnnotations) {
         ClassAccess classAccess = classAccessFactory.create(clazz);
-        return indexClass(configType, clazz, config, classAccess, classAccessFactory, extraAnnotations, false);
+        return indexClass(configType, clazz, classAccess, classAccessFactory, extraAnnotations, false);
     }
 
-    private static SectionIndex indexClass(final ConfigType configType, final Class<?> clazz, final Object instance, final ClassAccess classAccess, final ClassAccessFactory classAccessFactory, final Class<? extends Annotation>[] extraAnnotations, final boolean loadOnly) {
+    /**
+     * Bind an index to an instance.<br>
+     * Instanced sections which are not initialized yet will be instantiated and set in the parent section.
+     *
+     * @param sectionIndex       The index of the section
+     * @param sectionInstance    The instance of the section or null for static sections
+     * @param classAccessFactory The factory to create the class access
+     */
+    public static void initSections(final SectionIndex sectionIndex, @Nullable final Object sectionInstance, final ClassAccessFactory classAccessFactory) {
+        for (Map.Entry<ConfigOption, SectionIndex> entry : sectionIndex.getSubSections().entrySet()) {
+            ConfigOption option = entry.getKey();
+            SectionIndex subSection = entry.getValue();
+            Object subSectionInstance = null;
+            if (subSection.getConfigType().equals(ConfigType.INSTANCED)) {
+                subSectionInstance = option.getFieldAccess().getValue(sectionInstance);
+                if (subSectionInstance == null) {
+                    subSectionInstance = ReflectionUtils.instantiate(classAccessFactory, option.getFieldAccess().getType());
+                    option.getFieldAccess().setValue(sectionInstance, subSectionInstance);
+                }
+            }
+            initSections(subSection, subSectionInstance, classAccessFactory);
+        }
+    }
+
+    private static SectionIndex indexClass(final ConfigType configType, final Class<?> clazz, final ClassAccess classAccess, final ClassAccessFactory classAccessFactory, final Class<? extends Annotation>[] extraAnnotations, final boolean loadOnly) {
         SectionIndex sectionIndex;
         if (classAccess.getAnnotation(OptConfig.class) != null) {
             OptConfig optConfig = getOptConfigAnnotation(classAccessFactory, classAccess);
@@ -66,12 +138,12 @@ public class ClassIndexer {
             loadMigrators(classAccessFactory, classAccess, configIndex);
             sectionIndex = configIndex;
         } else if (classAccess.getAnnotation(Section.class) != null) {
-            sectionIndex = new SectionIndex(configType, clazz);
+            sectionIndex = new SectionIndex(configType, clazz, classAccess.getAnnotation(Section.class).lazy());
         } else {
             throw new IllegalArgumentException("The class " + clazz.getName() + " is not annotated with @OptConfig or @Section");
         }
-        indexFields(sectionIndex, instance, classAccess, classAccessFactory, extraAnnotations);
-        loadSuperClassSections(configType, clazz, instance, classAccess, sectionIndex, classAccessFactory, extraAnnotations);
+        indexFields(sectionIndex, classAccess, classAccessFactory, extraAnnotations);
+        loadSuperClassSections(configType, clazz, classAccess, sectionIndex, classAccessFactory, extraAnnotations);
         if (!loadOnly) {
             sectionIndex.sortOptions();
             addInMemoryFields(sectionIndex);
@@ -114,7 +186,7 @@ public class ClassIndexer {
         }
     }
 
-    private static void indexFields(final SectionIndex sectionIndex, final Object sectionInstance, final ClassAccess classAccess, final ClassAccessFactory classAccessFactory, final Class<? extends Annotation>[] extraAnnotations) {
+    private static void indexFields(final SectionIndex sectionIndex, final ClassAccess classAccess, final ClassAccessFactory classAccessFactory, final Class<? extends Annotation>[] extraAnnotations) {
         Class<?> clazz = sectionIndex.getClazz();
         Map<String, MethodAccess> validatorMethods = new HashMap<>();
         for (MethodAccess method : classAccess.getMethods()) { //Index all validator method
@@ -154,15 +226,7 @@ public class ClassIndexer {
                     case STATIC -> ConfigType.STATIC;
                     case INSTANCED -> ConfigType.INSTANCED;
                 };
-                Object subSectionInstance = null;
-                if (subSectionType.equals(ConfigType.INSTANCED)) {
-                    subSectionInstance = field.getValue(sectionInstance);
-                    if (subSectionInstance == null) {
-                        subSectionInstance = ReflectionUtils.instantiate(classAccessFactory, field.getType());
-                        field.setValue(sectionInstance, subSectionInstance);
-                    }
-                }
-                sectionIndex.addSubSection(configOption, indexClass(subSectionType, (Class) field.getType(), subSectionInstance, classAccessFactory, extraAnnotations));
+                sectionIndex.addSubSection(configOption, indexClass(subSectionType, field.getType(), classAccessFactory, extraAnnotations));
             }
         }
         if (sectionIndex.getConfigType().equals(ConfigType.STATIC)) {
@@ -185,7 +249,7 @@ public class ClassIndexer {
                         true
                 );
                 sectionIndex.addOption(subSectionOption);
-                sectionIndex.addSubSection(subSectionOption, indexClass(sectionIndex.getConfigType(), innerClass.getClazz(), null, classAccessFactory, extraAnnotations));
+                sectionIndex.addSubSection(subSectionOption, indexClass(sectionIndex.getConfigType(), innerClass.getClazz(), classAccessFactory, extraAnnotations));
             }
         }
         if (!validatorMethods.isEmpty()) throw new InvalidValidatorException(clazz, validatorMethods.values().iterator().next(), "has no corresponding option");
@@ -197,7 +261,7 @@ public class ClassIndexer {
         }
     }
 
-    private static void loadSuperClassSections(final ConfigType configType, final Class<?> clazz, final Object instance, final ClassAccess classAccess, final SectionIndex sectionIndex, final ClassAccessFactory classAccessFactory, final Class<? extends Annotation>[] extraAnnotations) {
+    private static void loadSuperClassSections(final ConfigType configType, final Class<?> clazz, final ClassAccess classAccess, final SectionIndex sectionIndex, final ClassAccessFactory classAccessFactory, final Class<? extends Annotation>[] extraAnnotations) {
         if (classAccess.getAnnotation(CheckSuperclass.class) == null) return;
         boolean isOptConfig = classAccess.getAnnotation(OptConfig.class) != null;
         boolean isSection = classAccess.getAnnotation(Section.class) != null;
@@ -208,7 +272,7 @@ public class ClassIndexer {
         if (isOptConfig && superClassAccess.getAnnotation(OptConfig.class) != null
                 || isSection && superClassAccess.getAnnotation(Section.class) != null) {
             //Load the section index of the super class but without any in memory fields (config version)
-            SectionIndex superClassIndex = indexClass(configType, superClass, instance, superClassAccess, classAccessFactory, extraAnnotations, true);
+            SectionIndex superClassIndex = indexClass(configType, superClass, superClassAccess, classAccessFactory, extraAnnotations, true);
             sectionIndex.merge(superClassIndex);
         }
     }
@@ -233,4 +297,8 @@ public class ClassIndexer {
         }
     }
 
+
+    private record IndexKey(ConfigType configType, List<Class<? extends Annotation>> extraAnnotations, ClassAccessFactory classAccessFactory) {
+    }
+
 }
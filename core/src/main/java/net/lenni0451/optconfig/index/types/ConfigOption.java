@@ -53,6 +53,7 @@ public class ConfigOption {
     private final String[] description;
     private final boolean reloadable;
     private final Class<? extends ConfigTypeSerializer<?>> typeSerializer;
+    private final boolean statefulTypeSerializer;
     private final boolean hidden;
     private final int order;
     private final Annotation[] extraAnnotations;
@@ -67,6 +68,7 @@ public class ConfigOption {
         this.description = getDescription(this.name, description, classAccess);
         this.reloadable = notReloadable == null;
         this.typeSerializer = typeSerializer == null ? null : unsafeCast(typeSerializer.value());
+        this.statefulTypeSerializer = typeSerializer != null && typeSerializer.stateful();
         this.hidden = hidden != null;
         this.order = order == null ? -1 : Math.max(0, order.value());
         this.extraAnnotations = extraAnnotations;
@@ -78,14 +80,21 @@ public class ConfigOption {
     public <C, T> ConfigTypeSerializer<T> createTypeSerializer(final ConfigLoader<C> configLoader) {
         if (this.typeSerializer == null) {
             return unsafeCast(configLoader.getTypeSerializers().get(this.fieldAccess.getType()));
+        } else if (this.statefulTypeSerializer) {
+            return unsafeCast(this.instantiateTypeSerializer(configLoader));
         } else {
-            ClassAccess classAccess = configLoader.getConfigOptions().getClassAccessFactory().create(this.typeSerializer);
-            ConstructorAccess constructor = classAccess.tryGetConstructor();
-            if (constructor == null) {
-                throw new IllegalArgumentException("No void constructor found for type serializer: " + this.typeSerializer.getName());
-            }
-            return unsafeCast(constructor.newInstance());
+            //The index is shared between loaders, so the instances are cached in the loader
+            return unsafeCast(configLoader.getTypeSerializers().getInstance(this.typeSerializer, type -> this.instantiateTypeSerializer(configLoader)));
+        }
+    }
+
+    private ConfigTypeSerializer<?> instantiateTypeSerializer(final ConfigLoader<?> configLoader) {
+        ClassAccess classAccess = configLoader.getConfigOptions().getClassAccessFactory().create(this.typeSerializer);
+        ConstructorAccess constructor = classAccess.tryGetConstructor();
+        if (constructor == null) {
+            throw new IllegalArgumentException("No void constructor found for type serializer: " + this.typeSerializer.getName());
         }
+        return unsafeCast(constructor.newInstance());
     }
 
 }
@@ -15,13 +15,24 @@ public class SectionIndex {
 
     private final ConfigType configType;
     private final Class<?> clazz;
+    private final boolean lazy;
     private final List<String> optionsOrder = new ArrayList<>();
     private final List<ConfigOption> options = new ArrayList<>();
+    @ToString.Exclude
+    private final Map<String, ConfigOption> optionsByName = new HashMap<>();
     private final Map<ConfigOption, SectionIndex> subSections = new HashMap<>();
+    @Nullable
+    @ToString.Exclude
+    private volatile ConfigOption[] serializationOrder;
 
     public SectionIndex(final ConfigType configType, final Class<?> clazz) {
+        this(configType, clazz, false);
+    }
+
+    public SectionIndex(final ConfigType configType, final Class<?> clazz, final boolean lazy) {
         this.configType = configType;
         this.clazz = clazz;
+        this.lazy = lazy;
     }
 
     public ConfigType getConfigType() {
@@ -32,6 +43,14 @@ public class SectionIndex {
         return this.clazz;
     }
 
+    /**
+     * @return If the values of this section should be deserialized when the section is first accessed
+     * @see net.lenni0451.optconfig.annotations.Section#lazy()
+     */
+    public boolean isLazy() {
+        return this.lazy;
+    }
+
     public List<String> getOptionsOrder() {
         return this.optionsOrder;
     }
@@ -40,15 +59,36 @@ public class SectionIndex {
         return this.options;
     }
 
+    /**
+     * Get all options in the order they should be serialized in (display order).<br>
+     * <b>The returned array must not be modified!</b>
+     *
+     * @return The options in serialization order
+     */
+    public ConfigOption[] getSerializationOrder() {
+        ConfigOption[] serializationOrder = this.serializationOrder;
+        if (serializationOrder == null) {
+            serializationOrder = new ConfigOption[this.optionsOrder.size()];
+            for (int i = 0; i < serializationOrder.length; i++) {
+                ConfigOption option = this.optionsByName.get(this.optionsOrder.get(i));
+                if (option == null) throw new IllegalStateException("Section index is desynchronized with options order");
+                serializationOrder[i] = option;
+            }
+            this.serializationOrder = serializationOrder;
+        }
+        return serializationOrder;
+    }
+
     @Nullable
     public ConfigOption getOption(final String name) {
-        return this.options.stream().filter(option -> option.getName().equals(name)).findFirst().orElse(null);
+        return this.optionsByName.get(name);
     }
 
     public void addOption(final ConfigOption option) {
-        if (this.getOption(option.getName()) != null) throw new DuplicateOptionException(option.getName());
+        if (this.optionsByName.putIfAbsent(option.getName(), option) != null) throw new DuplicateOptionException(option.getName());
         this.optionsOrder.add(option.getName());
         this.options.add(option);
+        this.serializationOrder = null;
     }
 
     public Map<ConfigOption, SectionIndex> getSubSections() {
@@ -73,6 +113,7 @@ public class SectionIndex {
         List<ConfigOption> sortedOptions = DependencySorter.sortOptions(this.options);
         this.options.clear();
         this.options.addAll(sortedOptions);
+        this.serializationOrder = null;
     }
 
     public boolean isEmpty() {
@@ -103,7 +144,7 @@ public class SectionIndex {
     public void merge(final SectionIndex other) {
         for (String name : other.optionsOrder) {
             ConfigOption option = other.getOption(name);
-            if (option != null && !this.optionsOrder.contains(name)) {
+            if (option != null && !this.optionsByName.containsKey(name)) {
                 this.addOption(option);
                 SectionIndex subSection = other.subSections.get(option);
                 if (subSection != null) this.addSubSection(option, subSection);
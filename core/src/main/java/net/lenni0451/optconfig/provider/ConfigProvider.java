@@ -4,8 +4,9 @@ import net.lenni0451.optconfig.provider.impl.EmptyConfigProvider;
 import net.lenni0451.optconfig.provider.impl.MemoryConfigProvider;
 import net.lenni0451.optconfig.provider.impl.PathConfigProvider;
 
-import java.io.File;
-import java.io.IOException;
+import javax.annotation.Nullable;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -55,6 +56,18 @@ public interface ConfigProvider {
         return new PathConfigProvider(path, true);
     }
 
+    /**
+     * Create a new {@link PathConfigProvider} with the given path which memory maps large config files for reading.<br>
+     * This avoids copying the whole content to the heap and is useful for very large config files.
+     *
+     * @param path The path to the config file
+     * @return The created {@link PathConfigProvider}
+     * @see PathConfigProvider#PathConfigProvider(Path, boolean, boolean)
+     */
+    static PathConfigProvider mappedPath(final Path path) {
+        return new PathConfigProvider(path, false, true);
+    }
+
     /**
      * Create a new {@link MemoryConfigProvider} with the given content and consumer.
      *
@@ -106,9 +119,101 @@ public interface ConfigProvider {
      */
     void save(final byte[] content) throws IOException;
 
+    /**
+     * Open a reader for the content of the config file.<br>
+     * The content is decoded as UTF-8.<br>
+     * The default implementation reads the content using {@link #load()}.
+     *
+     * @return The reader for the content
+     * @throws IOException If an I/O error occurs
+     */
+    default Reader openReader() throws IOException {
+        return new InputStreamReader(new ByteArrayInputStream(this.load()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Open a source for a single operation reading the config content.<br>
+     * The loader uses the source for checking if the config exists, getting the stamp and reading the content.<br>
+     * The default implementation delegates to the methods of this provider.
+     *
+     * @return The source for the config content
+     * @throws IOException If an I/O error occurs
+     */
+    default ConfigSource open() throws IOException {
+        return new ConfigSource() {
+            @Override
+            public boolean exists() {
+                return ConfigProvider.this.exists();
+            }
+
+            @Nullable
+            @Override
+            public Object getStamp() throws IOException {
+                return ConfigProvider.this.getStamp();
+            }
+
+            @Override
+            public Reader openReader() throws IOException {
+                return ConfigProvider.this.openReader();
+            }
+
+            @Override
+            public byte[] readContent() throws IOException {
+                return ConfigProvider.this.load();
+            }
+        };
+    }
+
+    /**
+     * Open a writer for the content of the config file.<br>
+     * The content is encoded as UTF-8 and only saved when the writer is committed.<br>
+     * The default implementation collects the content and passes it to {@link #save(byte[])}.
+     *
+     * @return The writer for the content
+     * @throws IOException If an I/O error occurs
+     */
+    default ConfigWriter openWriter() throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        return new ConfigWriter(new OutputStreamWriter(content, StandardCharsets.UTF_8)) {
+            @Override
+            protected void save() throws IOException {
+                ConfigProvider.this.save(content.toByteArray());
+            }
+
+            @Override
+            protected void discard() {
+            }
+        };
+    }
+
     /**
      * @return If a config already exists
      */
     boolean exists();
 
+    /**
+     * Get the provider for the compiled value cache of this config.<br>
+     * The cache is only used if {@link net.lenni0451.optconfig.ConfigOptions#isCompiledCache()} is enabled.
+     *
+     * @return The provider for the cache or null if caching is not supported
+     */
+    @Nullable
+    default ConfigProvider getCacheProvider() {
+        return null;
+    }
+
+    /**
+     * Get a stamp representing the current state of the config content.<br>
+     * The stamp has to change whenever the content changes (e.g. the last modification time and size of a file).<br>
+     * Stamps are only compared using {@link Object#equals(Object)}.<br>
+     * If the provider does not support change detection or the config does not exist, {@code null} is returned.
+     *
+     * @return The current stamp or null if unknown
+     * @throws IOException If an I/O error occurs
+     */
+    @Nullable
+    default Object getStamp() throws IOException {
+        return null;
+    }
+
 }
@@ -0,0 +1,70 @@
+package net.lenni0451.optconfig.provider;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A handle to the config content for a single load operation.<br>
+ * Providers with expensive access to the content (e.g. a database or decompression) can fetch the content once
+ * when the source is opened and share it between all methods of the source.
+ *
+ * @see ConfigProvider#open()
+ */
+public interface ConfigSource extends Closeable {
+
+    /**
+     * @return If a config exists
+     * @throws IOException If an I/O error occurs
+     */
+    boolean exists() throws IOException;
+
+    /**
+     * Get a stamp representing the state of the config content.
+     *
+     * @return The stamp or null if unknown
+     * @throws IOException If an I/O error occurs
+     * @see ConfigProvider#getStamp()
+     */
+    @Nullable
+    Object getStamp() throws IOException;
+
+    /**
+     * Open a reader for the content of the config.<br>
+     * This method may be called multiple times and should return the same content every time.
+     *
+     * @return The reader for the content
+     * @throws IOException If an I/O error occurs
+     * @see ConfigProvider#openReader()
+     */
+    Reader openReader() throws IOException;
+
+    /**
+     * Read the raw content of the config encoded as UTF-8.<br>
+     * This is used if the exact bytes of the content are required (e.g. for hashing).
+     * The default implementation encodes the content of {@link #openReader()}.
+     *
+     * @return The content of the config
+     * @throws IOException If an I/O error occurs
+     */
+    default byte[] readContent() throws IOException {
+        StringWriter content = new StringWriter();
+        try (Reader reader = this.openReader()) {
+            reader.transferTo(content);
+        }
+        return content.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Release all resources held by this source.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    default void close() throws IOException {
+    }
+
+}
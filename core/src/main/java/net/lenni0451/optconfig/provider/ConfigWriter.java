@@ -0,0 +1,71 @@
+package net.lenni0451.optconfig.provider;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A writer for the content of a config file.<br>
+ * The written content is only saved when {@link #commit()} is called.
+ * Closing the writer without committing discards the content, so a failed save never leaves a partially written config.
+ *
+ * @see ConfigProvider#openWriter()
+ */
+public abstract class ConfigWriter extends FilterWriter {
+
+    private boolean closed;
+
+    protected ConfigWriter(final Writer out) {
+        super(out);
+    }
+
+    /**
+     * Save the written content and close the writer.<br>
+     * This must only be called once all content has been written successfully.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    public final void commit() throws IOException {
+        if (this.closed) throw new IOException("The writer has already been closed");
+        this.closed = true;
+        boolean saved = false;
+        try {
+            super.close();
+            this.save();
+            saved = true;
+        } finally {
+            if (!saved) this.discard();
+        }
+    }
+
+    /**
+     * Close the writer and discard the content if it has not been committed.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public final void close() throws IOException {
+        if (this.closed) return;
+        this.closed = true;
+        try {
+            super.close();
+        } finally {
+            this.discard();
+        }
+    }
+
+    /**
+     * Save the content after the underlying writer has been closed.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    protected abstract void save() throws IOException;
+
+    /**
+     * Discard the content after the underlying writer has been closed.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    protected abstract void discard() throws IOException;
+
+}
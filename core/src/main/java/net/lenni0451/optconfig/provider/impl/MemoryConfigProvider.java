@@ -1,7 +1,15 @@
 package net.lenni0451.optconfig.provider.impl;
 
 import net.lenni0451.optconfig.provider.ConfigProvider;
+import net.lenni0451.optconfig.provider.ConfigSource;
+import net.lenni0451.optconfig.utils.ValueCache;
 
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -30,4 +38,50 @@ public class MemoryConfigProvider implements ConfigProvider {
         return this.load().length > 0;
     }
 
+    @Nullable
+    @Override
+    public Object getStamp() {
+        return getStamp(this.load());
+    }
+
+    @Override
+    public ConfigSource open() {
+        //Only call the supplier once per operation
+        return new ContentSource(this.load());
+    }
+
+    @Nullable
+    private static Object getStamp(final byte[] content) {
+        if (content.length == 0) return null;
+        //A cryptographic hash is used, a collision would silently skip a changed config
+        return new ContentStamp(ByteBuffer.wrap(ValueCache.hash(content)));
+    }
+
+
+    private record ContentStamp(ByteBuffer hash) {
+    }
+
+    private record ContentSource(byte[] content) implements ConfigSource {
+        @Override
+        public boolean exists() {
+            return this.content.length > 0;
+        }
+
+        @Nullable
+        @Override
+        public Object getStamp() {
+            return MemoryConfigProvider.getStamp(this.content);
+        }
+
+        @Override
+        public Reader openReader() {
+            return new InputStreamReader(new ByteArrayInputStream(this.content), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public byte[] readContent() {
+            return this.content;
+        }
+    }
+
 }
@@ -1,21 +1,59 @@
 package net.lenni0451.optconfig.provider.impl;
 
 import net.lenni0451.optconfig.provider.ConfigProvider;
+import net.lenni0451.optconfig.provider.ConfigWriter;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 
 public class PathConfigProvider implements ConfigProvider {
 
+    private static final int MIN_MAPPED_SIZE = 1024 * 1024;
+
     private final Path path;
     private final Path tempPath;
     private final boolean readOnly;
+    private final boolean mapped;
 
     public PathConfigProvider(final Path path, final boolean readOnly) {
+        this(path, readOnly, false);
+    }
+
+    /**
+     * Create a new path config provider.<br>
+     * In mapped mode config files of at least 1 MiB are memory mapped for reading, so the content is decoded directly from the file
+     * instead of being copied to the heap first. This is useful for very large config files.<br>
+     * Some operating systems (e.g. Windows) don't allow replacing a file while it is mapped,
+     * so saving a mapped file may fail until the mapping has been released by the garbage collector.
+     * Smaller files are read into a heap buffer instead, so they can always be saved after loading.
+     *
+     * @param path     The path to the config file
+     * @param readOnly If the config file should never be written
+     * @param mapped   If the config file should be memory mapped for reading
+     */
+    public PathConfigProvider(final Path path, final boolean readOnly, final boolean mapped) {
         this.path = path;
         this.tempPath = path.resolveSibling(path.getFileName() + ".tmp");
         this.readOnly = readOnly;
+        this.mapped = mapped;
+    }
+
+    /**
+     * @return The path to the config file
+     */
+    public Path getPath() {
+        return this.path;
     }
 
     @Override
@@ -28,7 +66,57 @@ public class PathConfigProvider implements ConfigProvider {
         if (this.readOnly) return;
         if (this.path.getParent() != null) Files.createDirectories(this.path.getParent()); //Create parent directories if they don't exist
         Files.write(this.tempPath, content);
-        Files.move(this.tempPath, this.path, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+        Files.move(this.tempPath, this.path, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public Reader openReader() throws IOException {
+        if (this.mapped) {
+            try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < MIN_MAPPED_SIZE) {
+                    //A mapping can't be released explicitly and would prevent the following save from replacing the file
+                    ByteBuffer buffer = ByteBuffer.allocate((int) size);
+                    while (buffer.hasRemaining()) {
+                        if (channel.read(buffer) < 0) break;
+                    }
+                    return Channels.newReader(new BufferChannel(buffer.flip()), StandardCharsets.UTF_8.newDecoder(), -1);
+                } else if (size <= Integer.MAX_VALUE) {
+                    //Files larger than 2GB can't be mapped into a single buffer
+                    //The mapping stays valid after the channel has been closed
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                    return Channels.newReader(new BufferChannel(buffer), StandardCharsets.UTF_8.newDecoder(), -1);
+                }
+            }
+        }
+        return Files.newBufferedReader(this.path, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public ConfigWriter openWriter() throws IOException {
+        if (this.readOnly) {
+            return new ConfigWriter(Writer.nullWriter()) {
+                @Override
+                protected void save() {
+                }
+
+                @Override
+                protected void discard() {
+                }
+            };
+        }
+        if (this.path.getParent() != null) Files.createDirectories(this.path.getParent()); //Create parent directories if they don't exist
+        return new TempFileWriter(Files.newBufferedWriter(this.tempPath, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The cache is stored next to the config file with the {@code .cache} extension appended.
+     *
+     * @return The provider for the cache
+     */
+    @Override
+    public ConfigProvider getCacheProvider() {
+        return new PathConfigProvider(this.path.resolveSibling(this.path.getFileName() + ".cache"), false);
     }
 
     @Override
@@ -36,4 +124,71 @@ public class PathConfigProvider implements ConfigProvider {
         return Files.exists(this.path);
     }
 
+    @Override
+    public Object getStamp() throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(this.path, BasicFileAttributes.class);
+            return new FileStamp(attributes.fileKey(), attributes.lastModifiedTime(), attributes.size());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+
+    private record FileStamp(Object fileKey, FileTime lastModifiedTime, long size) {
+    }
+
+    /**
+     * A channel reading from a byte buffer.<br>
+     * Used to decode a mapped file without copying the whole content.
+     */
+    private static class BufferChannel implements ReadableByteChannel {
+        private final ByteBuffer buffer;
+        private boolean open = true;
+
+        private BufferChannel(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read(final ByteBuffer dst) throws IOException {
+            if (!this.open) throw new ClosedChannelException();
+            if (!this.buffer.hasRemaining()) return -1;
+            int length = Math.min(dst.remaining(), this.buffer.remaining());
+            dst.put(this.buffer.slice(this.buffer.position(), length));
+            this.buffer.position(this.buffer.position() + length);
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return this.open;
+        }
+
+        @Override
+        public void close() {
+            this.open = false;
+        }
+    }
+
+    /**
+     * Writes to the temporary file and replaces the config file when committed.<br>
+     * If the content is discarded, the temporary file is deleted instead, so the config file is never partially written.
+     */
+    private class TempFileWriter extends ConfigWriter {
+        private TempFileWriter(final Writer out) {
+            super(out);
+        }
+
+        @Override
+        protected void save() throws IOException {
+            Files.move(PathConfigProvider.this.tempPath, PathConfigProvider.this.path, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        @Override
+        protected void discard() throws IOException {
+            Files.deleteIfExists(PathConfigProvider.this.tempPath);
+        }
+    }
+
 }
@@ -2,6 +2,7 @@ package net.lenni0451.optconfig.serializer;
 
 import net.lenni0451.optconfig.ConfigLoader;
 import net.lenni0451.optconfig.ConfigOptions;
+import net.lenni0451.optconfig.OptionChange;
 import net.lenni0451.optconfig.annotations.OptConfig;
 import net.lenni0451.optconfig.exceptions.InvalidSerializedObjectException;
 import net.lenni0451.optconfig.exceptions.OutdatedClassVersionException;
@@ -28,6 +29,17 @@ import static net.lenni0451.optconfig.utils.ReflectionUtils.unsafeCast;
 public class ConfigSerializer {
 
     public static <C> ConfigDiff deserializeSection(final ConfigLoader<C> configLoader, @Nullable final C configInstance, final SectionIndex sectionIndex, @Nullable final Object sectionInstance, final Map<String, Object> values, final boolean reload, ConfigDiff configDiff) {
+        return deserializeSection(configLoader, configInstance, sectionIndex, sectionInstance, values, reload, configDiff, null, List.of(), null);
+    }
+
+    /**
+     * Deserialize the values of a section into the section instance.<br>
+     * On reloads only changed options are written. The changes are added to the given list if it is not null.<br>
+     * If a map for lazy sections is given, the values of lazy sections are put into it instead of being deserialized.
+     * On reloads, lazy sections which have not been accessed yet are kept if their values did not change.
+     * Otherwise they are deserialized with their originally loaded values and reloaded like any other section.
+     */
+    public static <C> ConfigDiff deserializeSection(final ConfigLoader<C> configLoader, @Nullable final C configInstance, final SectionIndex sectionIndex, @Nullable final Object sectionInstance, final Map<String, Object> values, final boolean reload, ConfigDiff configDiff, @Nullable final List<OptionChange> changes, final List<String> path, @Nullable final Map<Object, LazySection> lazySections) {
         if (sectionIndex instanceof ConfigIndex) {
             configDiff = ConfigDiff.diff(sectionIndex, values);
             runMigration(configLoader, (ConfigIndex) sectionIndex, values);
@@ -42,12 +54,31 @@ public class ConfigSerializer {
                 Class<?> optionType = option.getFieldAccess().getType();
                 Type optionGenericType = option.getFieldAccess().getGenericType();
                 if (sectionIndex.getSubSections().containsKey(option)) {
-                    deserializeSection(configLoader, configInstance, sectionIndex.getSubSections().get(option), optionValue, unsafeCast(value), reload, configDiff.getSubSections().get(option.getName()));
+                    SectionIndex subSection = sectionIndex.getSubSections().get(option);
+                    ConfigDiff subSectionDiff = configDiff.getSubSections().get(option.getName());
+                    LazySection pendingSection = lazySections == null || optionValue == null ? null : lazySections.get(optionValue);
+                    if (lazySections != null && subSection.isLazy() && optionValue != null && value instanceof Map && !reload) {
+                        lazySections.put(optionValue, LazySection.create(subSection, optionValue, unsafeCast(value), subSectionDiff, appendPath(path, option.getName())));
+                    } else if (pendingSection == null || !pendingSection.values().equals(value)) {
+                        //Lazy sections which have not been accessed yet are kept if their values did not change
+                        if (pendingSection != null) {
+                            //Deserialize the originally loaded values first
+                            //Not reloadable options have to keep them and the changes of the reload have to be reported
+                            lazySections.remove(optionValue);
+                            deserializeSection(configLoader, configInstance, subSection, optionValue, pendingSection.unmodifiedValues(configLoader.getConfigOptions(), optionValue), false, pendingSection.configDiff(), null, pendingSection.path(), lazySections);
+                        }
+                        deserializeSection(configLoader, configInstance, subSection, optionValue, unsafeCast(value), reload, subSectionDiff, changes, appendPath(path, option.getName()), lazySections);
+                    }
                 } else {
                     ConfigTypeSerializer<?> typeSerializer = option.createTypeSerializer(configLoader);
                     Object deserializedValue = typeSerializer.deserialize(new DeserializerInfo(configInstance, sectionInstance, configLoader.getTypeSerializers(), optionType, optionGenericType, optionValue, value));
                     if (option.getValidator() != null) deserializedValue = option.getValidator().invoke(sectionInstance, deserializedValue);
                     verifyFieldType(option, deserializedValue);
+                    if (reload) {
+                        //Only write and report options which actually changed
+                        if (isEqual(configLoader.getConfigOptions(), optionValue, deserializedValue)) continue;
+                        if (changes != null) changes.add(new OptionChange(appendPath(path, option.getName()), optionValue, deserializedValue));
+                    }
                     option.getFieldAccess().setValue(sectionInstance, deserializedValue);
                 }
             } catch (Throwable t) {
@@ -60,6 +91,17 @@ public class ConfigSerializer {
         return configDiff;
     }
 
+    private static boolean isEqual(final ConfigOptions configOptions, final Object oldValue, final Object newValue) {
+        return configOptions.getDefaultValueComparator().test(oldValue, newValue) || Objects.deepEquals(oldValue, newValue);
+    }
+
+    private static List<String> appendPath(final List<String> path, final String name) {
+        List<String> newPath = new ArrayList<>(path.size() + 1);
+        newPath.addAll(path);
+        newPath.add(name);
+        return Collections.unmodifiableList(newPath);
+    }
+
     private static void verifyFieldType(final ConfigOption option, final Object deserializedValue) {
         Class<?> expectedType = option.getFieldAccess().getType();
         if (deserializedValue == null) {
@@ -98,16 +140,14 @@ public class ConfigSerializer {
         ConfigOptions options = configLoader.getConfigOptions();
         List<NodeTuple> section = new ArrayList<>();
         MappingNode rootNode = new MappingNode(Tag.MAP, section, DumperOptions.FlowStyle.BLOCK);
-        for (String optionName : sectionIndex.getOptionsOrder()) {
-            ConfigOption option = sectionIndex.getOption(optionName);
-            if (option == null) throw new IllegalStateException("Section index is desynchronized with options order");
+        for (ConfigOption option : sectionIndex.getSerializationOrder()) {
             Object optionValue = option.getFieldAccess().getValue(sectionInstance);
             Class<?> optionType = option.getFieldAccess().getType();
             Type optionGenericType = option.getFieldAccess().getGenericType();
             NodeTuple tuple;
             if (sectionIndex.getSubSections().containsKey(option)) {
                 MappingNode subSection = serializeSection(configLoader, defaultValues, configInstance, sectionIndex.getSubSections().get(option), optionValue);
-                tuple = new NodeTuple(configLoader.getYaml().represent(option.getName()), subSection);
+                tuple = new NodeTuple(configLoader.represent(option.getName()), subSection);
             } else {
                 if (option.isHidden() && options.getDefaultValueComparator().test(defaultValues.get(option), optionValue)) {
                     //Hidden options with their default value should not be saved
@@ -117,8 +157,8 @@ public class ConfigSerializer {
                 Object deserializedValue = optionValue;
                 if (option.getValidator() != null) deserializedValue = option.getValidator().invoke(sectionInstance, deserializedValue);
                 tuple = new NodeTuple(
-                        configLoader.getYaml().represent(option.getName()),
-                        configLoader.getYaml().represent(typeSerializer.serialize(new SerializerInfo(configInstance, sectionInstance, configLoader.getTypeSerializers(), optionType, optionGenericType, deserializedValue)))
+                        configLoader.represent(option.getName()),
+                        configLoader.represent(typeSerializer.serialize(new SerializerInfo(configInstance, sectionInstance, configLoader.getTypeSerializers(), optionType, optionGenericType, deserializedValue)))
                 );
             }
             if (!section.isEmpty() && options.isSpaceBetweenOptions()) YamlUtils.appendComment(tuple, options.getCommentSpacing(), "\n");
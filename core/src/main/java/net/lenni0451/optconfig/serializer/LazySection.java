@@ -0,0 +1,94 @@
+package net.lenni0451.optconfig.serializer;
+
+import net.lenni0451.optconfig.ConfigOptions;
+import net.lenni0451.optconfig.index.diff.ConfigDiff;
+import net.lenni0451.optconfig.index.types.ConfigOption;
+import net.lenni0451.optconfig.index.types.SectionIndex;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+import static net.lenni0451.optconfig.utils.ReflectionUtils.unsafeCast;
+
+/**
+ * The loaded values of a lazy section which have not been deserialized yet.<br>
+ * The option values of the section are recorded when it becomes pending, so options written directly before the section is
+ * deserialized can be detected and are not overwritten with the loaded values.
+ *
+ * @param sectionIndex The index of the section
+ * @param values       The loaded values of the section
+ * @param configDiff   The diff of the section
+ * @param path         The path to the section
+ * @param snapshot     The option values of the section when it became pending
+ */
+@ApiStatus.Internal
+public record LazySection(SectionIndex sectionIndex, Map<String, Object> values, ConfigDiff configDiff, List<String> path, Map<String, Object> snapshot) {
+
+    /**
+     * Create a pending lazy section and record the current option values of the section instance.
+     *
+     * @param sectionIndex    The index of the section
+     * @param sectionInstance The section instance
+     * @param values          The loaded values of the section
+     * @param configDiff      The diff of the section
+     * @param path            The path to the section
+     * @return The lazy section
+     */
+    public static LazySection create(final SectionIndex sectionIndex, final Object sectionInstance, final Map<String, Object> values, final ConfigDiff configDiff, final List<String> path) {
+        return new LazySection(sectionIndex, values, configDiff, path, snapshot(sectionIndex, sectionInstance));
+    }
+
+    private static Map<String, Object> snapshot(final SectionIndex sectionIndex, final Object sectionInstance) {
+        Map<String, Object> snapshot = new HashMap<>();
+        for (ConfigOption option : sectionIndex.getOptions()) {
+            Object value = option.getFieldAccess().getValue(sectionInstance);
+            SectionIndex subSection = sectionIndex.getSubSections().get(option);
+            if (subSection == null) snapshot.put(option.getName(), copy(value));
+            else if (value != null) snapshot.put(option.getName(), snapshot(subSection, value));
+        }
+        return snapshot;
+    }
+
+    private static Object copy(final Object value) {
+        //Containers are copied, otherwise modifications of their content would not be detected
+        if (value instanceof List<?> list) return new ArrayList<>(list);
+        if (value instanceof Set<?> set) return new HashSet<>(set);
+        if (value instanceof Map<?, ?> map) return new HashMap<>(map);
+        if (value != null && value.getClass().isArray()) {
+            Object copy = Array.newInstance(value.getClass().getComponentType(), Array.getLength(value));
+            System.arraycopy(value, 0, copy, 0, Array.getLength(value));
+            return copy;
+        }
+        return value;
+    }
+
+    /**
+     * Get the loaded values without the options which were written since the section became pending.
+     *
+     * @param configOptions   The config options
+     * @param sectionInstance The section instance
+     * @return The values which can be deserialized into the section
+     */
+    public Map<String, Object> unmodifiedValues(final ConfigOptions configOptions, final Object sectionInstance) {
+        return unmodifiedValues(configOptions, this.sectionIndex, sectionInstance, this.values, this.snapshot);
+    }
+
+    private static Map<String, Object> unmodifiedValues(final ConfigOptions configOptions, final SectionIndex sectionIndex, final Object sectionInstance, final Map<String, Object> values, final Map<String, Object> snapshot) {
+        Map<String, Object> unmodified = new LinkedHashMap<>(values);
+        for (ConfigOption option : sectionIndex.getOptions()) {
+            if (!values.containsKey(option.getName()) || !snapshot.containsKey(option.getName())) continue;
+            Object value = option.getFieldAccess().getValue(sectionInstance);
+            Object snapshotValue = snapshot.get(option.getName());
+            SectionIndex subSection = sectionIndex.getSubSections().get(option);
+            if (subSection == null) {
+                boolean unchanged = configOptions.getDefaultValueComparator().test(snapshotValue, value) || Objects.deepEquals(snapshotValue, value);
+                if (!unchanged) unmodified.remove(option.getName());
+            } else if (value != null && values.get(option.getName()) instanceof Map<?, ?> subValues) {
+                unmodified.put(option.getName(), unmodifiedValues(configOptions, subSection, value, unsafeCast(subValues), unsafeCast(snapshotValue)));
+            }
+        }
+        return unmodified;
+    }
+
+}
@@ -1,17 +1,23 @@
 package net.lenni0451.optconfig.serializer;
 
 import net.lenni0451.optconfig.serializer.impl.*;
+import org.jetbrains.annotations.ApiStatus;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * A list of all available type serializers.<br>
  * If no serializer is found for the given type, the superclass of the type is checked until a serializer is found.<br>
- * The default serializer for {@link Object} is a passthrough serializer that just returns the value without any changes.
+ * The default serializer for {@link Object} is a passthrough serializer that just returns the value without any changes.<br>
+ * Resolved serializers are cached per type until a new serializer is added.
  */
 public class TypeSerializerList {
 
-    private final Map<Class<?>, ConfigTypeSerializer<?>> typeSerializers = new HashMap<>();
+    private final Map<Class<?>, ConfigTypeSerializer<?>> typeSerializers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ConfigTypeSerializer<?>> resolvedSerializers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ConfigTypeSerializer<?>> serializerInstances = new ConcurrentHashMap<>();
     private final GenericArraySerializer genericArraySerializer;
     private final GenericTypeSerializer genericTypeSerializer;
 
@@ -34,6 +40,7 @@ public class TypeSerializerList {
      */
     public <T> TypeSerializerList add(final Class<T> type, final ConfigTypeSerializer<T> serializer) {
         this.typeSerializers.put(type, serializer);
+        this.resolvedSerializers.clear();
         return this;
     }
 
@@ -47,6 +54,7 @@ public class TypeSerializerList {
      */
     public TypeSerializerList addUnchecked(final Class<?> type, final ConfigTypeSerializer<?> serializer) {
         this.typeSerializers.put(type, serializer);
+        this.resolvedSerializers.clear();
         return this;
     }
 
@@ -59,6 +67,28 @@ public class TypeSerializerList {
      * @return The type serializer
      */
     public ConfigTypeSerializer<?> get(final Class<?> type) {
+        ConfigTypeSerializer<?> serializer = this.resolvedSerializers.get(type);
+        if (serializer == null) {
+            serializer = this.resolve(type);
+            this.resolvedSerializers.put(type, serializer);
+        }
+        return serializer;
+    }
+
+    /**
+     * Get the shared instance of a type serializer class used by the {@link net.lenni0451.optconfig.annotations.TypeSerializer} annotation.<br>
+     * The instance is created using the given factory the first time it is requested.
+     *
+     * @param serializerClass The type serializer class
+     * @param factory         The factory to create the instance
+     * @return The type serializer instance
+     */
+    @ApiStatus.Internal
+    public ConfigTypeSerializer<?> getInstance(final Class<?> serializerClass, final Function<Class<?>, ConfigTypeSerializer<?>> factory) {
+        return this.serializerInstances.computeIfAbsent(serializerClass, factory);
+    }
+
+    private ConfigTypeSerializer<?> resolve(final Class<?> type) {
         Class<?> currentType = type;
         Set<Class<?>> interfaces = new LinkedHashSet<>();
         do {
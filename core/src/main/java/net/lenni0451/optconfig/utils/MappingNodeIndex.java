@@ -0,0 +1,158 @@
+package net.lenni0451.optconfig.utils;
+
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An indexed view over a {@link MappingNode} allowing key lookups in constant time.<br>
+ * The index stays consistent as long as the mapping node is only modified through this view.<br>
+ * If a key exists multiple times, the first occurrence is used (like {@link YamlUtils#get(MappingNode, String)}).
+ */
+public class MappingNodeIndex {
+
+    @Nullable
+    private static String getKey(final NodeTuple tuple) {
+        if (tuple.getKeyNode() instanceof ScalarNode scalarNode) return scalarNode.getValue();
+        return null;
+    }
+
+
+    private final MappingNode node;
+    private final List<NodeTuple> tuples;
+    private final Map<String, Integer> positions;
+
+    public MappingNodeIndex(final MappingNode node) {
+        this.node = node;
+        this.tuples = node.getValue();
+        this.positions = new HashMap<>(this.tuples.size());
+        for (int i = 0; i < this.tuples.size(); i++) {
+            String key = getKey(this.tuples.get(i));
+            if (key != null) this.positions.putIfAbsent(key, i);
+        }
+    }
+
+    /**
+     * @return The indexed mapping node
+     */
+    public MappingNode getNode() {
+        return this.node;
+    }
+
+    /**
+     * @return The amount of tuples in the mapping node
+     */
+    public int size() {
+        return this.tuples.size();
+    }
+
+    /**
+     * Get the position of the given key.
+     *
+     * @param key The key to search for
+     * @return The position of the key or {@code -1} if the key does not exist
+     */
+    public int indexOf(final String key) {
+        Integer position = this.positions.get(key);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * Get the tuple for the given key.
+     *
+     * @param key The key to search for
+     * @return The tuple or null if the key does not exist
+     */
+    @Nullable
+    public NodeTuple get(final String key) {
+        Integer position = this.positions.get(key);
+        return position == null ? null : this.tuples.get(position);
+    }
+
+    /**
+     * Get the tuple at the given position.
+     *
+     * @param position The position of the tuple
+     * @return The tuple
+     */
+    public NodeTuple get(final int position) {
+        return this.tuples.get(position);
+    }
+
+    /**
+     * Insert a tuple at the given position.
+     *
+     * @param position The position to insert the tuple at
+     * @param tuple    The tuple to insert
+     */
+    public void insert(final int position, final NodeTuple tuple) {
+        this.tuples.add(position, tuple);
+        for (int i = position + 1; i < this.tuples.size(); i++) {
+            //Only move keys which were stored for the previous position
+            //Later occurrences of duplicate keys are not stored
+            String key = getKey(this.tuples.get(i));
+            if (key != null && this.positions.get(key) == i - 1) this.positions.put(key, i);
+        }
+        this.addKey(getKey(tuple), position);
+    }
+
+    /**
+     * Replace the tuple at the given position.
+     *
+     * @param position The position of the tuple
+     * @param tuple    The new tuple
+     * @return The replaced tuple
+     */
+    public NodeTuple set(final int position, final NodeTuple tuple) {
+        NodeTuple oldTuple = this.tuples.set(position, tuple);
+        String oldKey = getKey(oldTuple);
+        String newKey = getKey(tuple);
+        if (oldKey == null || !oldKey.equals(newKey)) {
+            this.removeKey(oldKey, position);
+            this.addKey(newKey, position);
+        }
+        return oldTuple;
+    }
+
+    /**
+     * Remove the tuple at the given position.
+     *
+     * @param position The position of the tuple
+     * @return The removed tuple
+     */
+    public NodeTuple remove(final int position) {
+        NodeTuple tuple = this.tuples.remove(position);
+        for (int i = position; i < this.tuples.size(); i++) {
+            String key = getKey(this.tuples.get(i));
+            if (key != null && this.positions.get(key) == i + 1) this.positions.put(key, i);
+        }
+        this.removeKey(getKey(tuple), position);
+        return tuple;
+    }
+
+    private void addKey(@Nullable final String key, final int position) {
+        if (key == null) return;
+        Integer current = this.positions.get(key);
+        if (current == null || current > position) this.positions.put(key, position);
+    }
+
+    private void removeKey(@Nullable final String key, final int position) {
+        if (key == null) return;
+        Integer current = this.positions.get(key);
+        if (current == null || current != position) return;
+        //Search for a later occurrence of the same key
+        for (int i = position; i < this.tuples.size(); i++) {
+            if (key.equals(getKey(this.tuples.get(i)))) {
+                this.positions.put(key, i);
+                return;
+            }
+        }
+        this.positions.remove(key);
+    }
+
+}
@@ -0,0 +1,68 @@
+package net.lenni0451.optconfig.utils;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.composer.Composer;
+import org.yaml.snakeyaml.constructor.BaseConstructor;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.representer.Representer;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import javax.annotation.Nullable;
+
+import static net.lenni0451.optconfig.utils.ReflectionUtils.unsafeCast;
+
+/**
+ * A {@link Yaml} instance which can construct objects from already composed nodes.<br>
+ * This allows parsing a document only once and using the nodes for both, reading the values and keeping the comments and formatting.
+ */
+public class NodeConstructingYaml extends Yaml {
+
+    private final SingleNodeComposer composer;
+
+    public NodeConstructingYaml(final BaseConstructor constructor, final Representer representer, final DumperOptions dumperOptions) {
+        super(constructor, representer, dumperOptions);
+        this.composer = new SingleNodeComposer(this.resolver, this.loadingConfig);
+    }
+
+    /**
+     * Construct the java objects of an already composed node.<br>
+     * The node should not contain merge keys as they would be flattened by the constructor.
+     *
+     * @param node The node to construct
+     * @param <T>  The type of the constructed object
+     * @return The constructed object
+     * @see YamlUtils#hasMergeKeys(Node)
+     */
+    public <T> T construct(@Nullable final Node node) {
+        this.composer.node = node;
+        this.constructor.setComposer(this.composer);
+        try {
+            return unsafeCast(this.constructor.getSingleData(Object.class));
+        } finally {
+            //Pooled instances must not keep the node tree alive
+            this.composer.node = null;
+        }
+    }
+
+
+    private static class SingleNodeComposer extends Composer {
+
+        @Nullable
+        private Node node;
+
+        private SingleNodeComposer(final Resolver resolver, final LoaderOptions loaderOptions) {
+            super(new ParserImpl(new StreamReader(""), loaderOptions), resolver, loaderOptions);
+        }
+
+        @Override
+        public Node getSingleNode() {
+            return this.node;
+        }
+
+    }
+
+}
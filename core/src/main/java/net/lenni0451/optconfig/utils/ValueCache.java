@@ -0,0 +1,218 @@
+package net.lenni0451.optconfig.utils;
+
+import net.lenni0451.optconfig.provider.ConfigProvider;
+
+import javax.annotation.Nullable;
+import java.io.*;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * A binary cache of the values constructed from a config file.<br>
+ * The cache is keyed by the hash of the config content, so it is only used as long as the content is unchanged.
+ * Only the plain yaml values are cached (the same values the yaml constructor creates), so type serializers, validators and migrators
+ * still run as usual and changes to the config class don't invalidate the cache.<br>
+ * Errors while reading or writing the cache are ignored, the config is parsed normally in that case.
+ * All lengths are validated before anything is allocated, so a corrupt cache is ignored as well.
+ */
+public class ValueCache {
+
+    private static final int MAGIC = 0x4F434643; //OCFC
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_DEPTH = 128; //Deeper or recursive structures are not cached
+
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int TRUE = 2;
+    private static final int FALSE = 3;
+    private static final int INT = 4;
+    private static final int LONG = 5;
+    private static final int DOUBLE = 6;
+    private static final int BIG_INTEGER = 7;
+    private static final int LIST = 8;
+    private static final int MAP = 9;
+    private static final int SET = 10;
+    private static final int BYTES = 11;
+    private static final int DATE = 12;
+
+    /**
+     * Hash the raw content of a config.<br>
+     * The hash has to be calculated from the same content the values are constructed from.
+     *
+     * @param content The content of the config
+     * @return The hash of the content
+     */
+    public static byte[] hash(final byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Read the cached values if the cache matches the given hash.
+     *
+     * @param cacheProvider The provider of the cache
+     * @param hash          The hash of the current config content
+     * @return The cached values or null if there is no valid cache
+     */
+    @Nullable
+    public static Map<String, Object> read(final ConfigProvider cacheProvider, final byte[] hash) {
+        try {
+            if (!cacheProvider.exists()) return null;
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(cacheProvider.load()));
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) return null;
+            byte[] cachedHash = new byte[in.readUnsignedByte()];
+            in.readFully(cachedHash);
+            if (!Arrays.equals(hash, cachedHash)) return null;
+            if (in.readUnsignedByte() != MAP) return null;
+            int size = readLength(in, 2);
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                if (!(readValue(in, 1) instanceof String key)) return null;
+                values.put(key, readValue(in, 1));
+            }
+            return values;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Write the values to the cache.<br>
+     * If the values contain types which can't be cached, nothing is written.
+     *
+     * @param cacheProvider The provider of the cache
+     * @param hash          The hash of the config content the values were constructed from
+     * @param values        The values to cache
+     */
+    public static void write(final ConfigProvider cacheProvider, final byte[] hash, final Map<String, Object> values) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeByte(hash.length);
+            out.write(hash);
+            if (!writeValue(out, values, 0)) return;
+            cacheProvider.save(bytes.toByteArray());
+        } catch (IOException | RuntimeException ignored) {
+            //Not critical
+        }
+    }
+
+    private static boolean writeValue(final DataOutputStream out, @Nullable final Object value, final int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            return false;
+        } else if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String s) {
+            out.writeByte(STRING);
+            writeBytes(out, s.getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Boolean b) {
+            out.writeByte(b ? TRUE : FALSE);
+        } else if (value instanceof Integer i) {
+            out.writeByte(INT);
+            out.writeInt(i);
+        } else if (value instanceof Long l) {
+            out.writeByte(LONG);
+            out.writeLong(l);
+        } else if (value instanceof Double d) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(d);
+        } else if (value instanceof BigInteger bigInteger) {
+            out.writeByte(BIG_INTEGER);
+            writeBytes(out, bigInteger.toByteArray());
+        } else if (value instanceof byte[] array) {
+            out.writeByte(BYTES);
+            writeBytes(out, array);
+        } else if (value instanceof Date date) {
+            out.writeByte(DATE);
+            out.writeLong(date.getTime());
+        } else if (value instanceof List<?> list) {
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                if (!writeValue(out, element, depth + 1)) return false;
+            }
+        } else if (value instanceof Set<?> set) {
+            out.writeByte(SET);
+            out.writeInt(set.size());
+            for (Object element : set) {
+                if (!writeValue(out, element, depth + 1)) return false;
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!writeValue(out, entry.getKey(), depth + 1) || !writeValue(out, entry.getValue(), depth + 1)) return false;
+            }
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @Nullable
+    private static Object readValue(final DataInputStream in, final int depth) throws IOException {
+        if (depth > MAX_DEPTH) throw new IOException("Maximum depth exceeded");
+        int type = in.readUnsignedByte();
+        return switch (type) {
+            case NULL -> null;
+            case STRING -> new String(readBytes(in), StandardCharsets.UTF_8);
+            case TRUE -> true;
+            case FALSE -> false;
+            case INT -> in.readInt();
+            case LONG -> in.readLong();
+            case DOUBLE -> in.readDouble();
+            case BIG_INTEGER -> new BigInteger(readBytes(in));
+            case BYTES -> readBytes(in);
+            case DATE -> new Date(in.readLong());
+            case LIST -> {
+                int size = readLength(in, 1);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) list.add(readValue(in, depth + 1));
+                yield list;
+            }
+            case SET -> {
+                int size = readLength(in, 1);
+                Set<Object> set = new LinkedHashSet<>();
+                for (int i = 0; i < size; i++) set.add(readValue(in, depth + 1));
+                yield set;
+            }
+            case MAP -> {
+                int size = readLength(in, 2);
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    Object key = readValue(in, depth + 1);
+                    map.put(key, readValue(in, depth + 1));
+                }
+                yield map;
+            }
+            default -> throw new IOException("Unknown value type: " + type);
+        };
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(final DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readLength(in, 1)];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static int readLength(final DataInputStream in, final int minElementSize) throws IOException {
+        //Every element takes at least the given amount of bytes, so lengths larger than the remaining content are corrupt
+        int length = in.readInt();
+        if (length < 0 || (long) length * minElementSize > in.available()) throw new IOException("Invalid length: " + length);
+        return length;
+    }
+
+}
@@ -0,0 +1,48 @@
+package net.lenni0451.optconfig.utils;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.yaml.snakeyaml.Yaml;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool of yaml instances.<br>
+ * Yaml instances are not thread-safe, so every load or save operation borrows its own instance and returns it afterwards.
+ * New instances are created if all pooled instances are in use. Only up to the given amount of idle instances is kept.
+ */
+@ApiStatus.Internal
+public class YamlPool {
+
+    private final Supplier<Yaml> yamlSupplier;
+    private final BlockingQueue<Yaml> idle;
+
+    public YamlPool(final Supplier<Yaml> yamlSupplier, final int maxIdle) {
+        this.yamlSupplier = yamlSupplier;
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    /**
+     * Borrow a yaml instance from the pool.<br>
+     * The instance must be returned using {@link #release(Yaml)} once it is no longer used.
+     *
+     * @return The yaml instance
+     */
+    public Yaml borrow() {
+        Yaml yaml = this.idle.poll();
+        if (yaml == null) yaml = this.yamlSupplier.get();
+        return yaml;
+    }
+
+    /**
+     * Return a borrowed yaml instance to the pool.<br>
+     * The instance is dropped if the pool is already full.
+     *
+     * @param yaml The yaml instance
+     */
+    public void release(final Yaml yaml) {
+        this.idle.offer(yaml);
+    }
+
+}
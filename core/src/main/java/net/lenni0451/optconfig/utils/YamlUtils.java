@@ -1,5 +1,6 @@
 package net.lenni0451.optconfig.utils;
 
+import net.lenni0451.optconfig.provider.ConfigSource;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
@@ -10,6 +11,11 @@ import org.yaml.snakeyaml.nodes.*;
 import org.yaml.snakeyaml.representer.Representer;
 
 import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -22,7 +28,7 @@ public class YamlUtils {
         LoaderOptions loaderOptions = new LoaderOptions();
         DumperOptions dumperOptions = new DumperOptions();
         applyDefaultYamlOptions(loaderOptions, dumperOptions, loaderOptionsConsumer, dumperOptionsConsumer);
-        return new Yaml(new SafeConstructor(loaderOptions), new Representer(dumperOptions), dumperOptions); //Use safe constructor to prevent code execution
+        return new NodeConstructingYaml(new SafeConstructor(loaderOptions), new Representer(dumperOptions), dumperOptions); //Use safe constructor to prevent code execution
     }
 
     public static void applyDefaultYamlOptions(final LoaderOptions loaderOptions, final DumperOptions dumperOptions) {
@@ -41,6 +47,86 @@ public class YamlUtils {
         dumperOptions.setProcessComments(true); //Enable comment writing
     }
 
+    /**
+     * Compose the given content to a node tree.
+     *
+     * @param yaml    The yaml instance to use
+     * @param content The content to compose
+     * @return The composed node or null if the content is empty
+     */
+    @Nullable
+    public static Node compose(final Yaml yaml, final byte[] content) {
+        return yaml.compose(new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Compose the content of the given reader to a node tree.
+     *
+     * @param yaml   The yaml instance to use
+     * @param reader The reader of the content to compose
+     * @return The composed node or null if the content is empty
+     */
+    @Nullable
+    public static Node compose(final Yaml yaml, final Reader reader) {
+        return yaml.compose(reader);
+    }
+
+    /**
+     * Construct the values of a composed node.<br>
+     * If the yaml instance does not support constructing nodes, the content is read again from the config source.
+     *
+     * @param yaml         The yaml instance to use
+     * @param node         The composed node
+     * @param configSource The config source the node was composed from
+     * @param <T>          The type of the constructed object
+     * @return The constructed object
+     * @throws IOException If an I/O error occurs
+     */
+    public static <T> T construct(final Yaml yaml, @Nullable final Node node, final ConfigSource configSource) throws IOException {
+        if (yaml instanceof NodeConstructingYaml constructingYaml && !hasMergeKeys(node)) {
+            return constructingYaml.construct(node);
+        } else {
+            //Merge keys are flattened by the constructor which would modify the node tree
+            try (Reader reader = configSource.openReader()) {
+                return yaml.load(reader);
+            }
+        }
+    }
+
+    /**
+     * Construct the values of a composed node.<br>
+     * If the yaml instance does not support constructing nodes, the content is parsed again.
+     *
+     * @param yaml    The yaml instance to use
+     * @param node    The composed node
+     * @param content The content the node was composed from
+     * @param <T>     The type of the constructed object
+     * @return The constructed object
+     */
+    public static <T> T construct(final Yaml yaml, @Nullable final Node node, final byte[] content) {
+        if (yaml instanceof NodeConstructingYaml constructingYaml && !hasMergeKeys(node)) {
+            return constructingYaml.construct(node);
+        } else {
+            //Merge keys are flattened by the constructor which would modify the node tree
+            return yaml.load(new String(content, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Check if a node tree contains merge keys ({@code <<}).
+     *
+     * @param node The node to check
+     * @return If the node tree contains merge keys
+     */
+    public static boolean hasMergeKeys(@Nullable final Node node) {
+        if (node == null) return false;
+        boolean[] merged = {false};
+        recurse(node, n -> {
+            if (n instanceof MappingNode mappingNode && mappingNode.isMerged()) merged[0] = true;
+        });
+        return merged[0];
+    }
+
     @Nullable
     public static NodeTuple get(final MappingNode mappingNode, final String key) {
         for (NodeTuple tuple : mappingNode.getValue()) {
@@ -51,6 +137,43 @@ public class YamlUtils {
     }
 
     public static void insert(final MappingNode mappingNode, final NodeTuple tuple, final int index) {
+        moveCommentsForInsert(mappingNode, tuple, index);
+        mappingNode.getValue().add(index, tuple);
+    }
+
+    public static void insert(final MappingNodeIndex mappingIndex, final NodeTuple tuple, final int index) {
+        moveCommentsForInsert(mappingIndex.getNode(), tuple, index);
+        mappingIndex.insert(index, tuple);
+    }
+
+    public static void replace(final MappingNode mappingNode, final NodeTuple oldNodes, final NodeTuple newNodes) {
+        int index = mappingNode.getValue().indexOf(oldNodes);
+        mappingNode.getValue().set(index, newNodes);
+        copyCommentsForReplace(oldNodes, newNodes);
+    }
+
+    public static void replace(final MappingNodeIndex mappingIndex, final String key, final NodeTuple newNodes) {
+        int index = mappingIndex.indexOf(key);
+        NodeTuple oldNodes = mappingIndex.set(index, newNodes);
+        copyCommentsForReplace(oldNodes, newNodes);
+    }
+
+    public static void remove(final MappingNode mappingNode, final String key) {
+        NodeTuple tuple = get(mappingNode, key);
+        if (tuple == null) return;
+        int index = mappingNode.getValue().indexOf(tuple);
+        mappingNode.getValue().remove(tuple);
+        moveCommentsForRemove(mappingNode, tuple, index);
+    }
+
+    public static void remove(final MappingNodeIndex mappingIndex, final String key) {
+        int index = mappingIndex.indexOf(key);
+        if (index < 0) return;
+        NodeTuple tuple = mappingIndex.remove(index);
+        moveCommentsForRemove(mappingIndex.getNode(), tuple, index);
+    }
+
+    private static void moveCommentsForInsert(final MappingNode mappingNode, final NodeTuple tuple, final int index) {
         if (index == 0 && !mappingNode.getValue().isEmpty()) {
             //Move all unrelated comments from the previous element to the new element
             //The previous element should also get a blank line prepended
@@ -67,13 +190,9 @@ public class YamlUtils {
             //Prepend a blank line to the previous element
             previousComments.add(0, new CommentLine(null, null, "\n", CommentType.BLANK_LINE));
         }
-        mappingNode.getValue().add(index, tuple);
     }
 
-    public static void replace(final MappingNode mappingNode, final NodeTuple oldNodes, final NodeTuple newNodes) {
-        int index = mappingNode.getValue().indexOf(oldNodes);
-        mappingNode.getValue().set(index, newNodes);
-
+    private static void copyCommentsForReplace(final NodeTuple oldNodes, final NodeTuple newNodes) {
         //Copy over all unrelated comments from the old node to the new node
         List<CommentLine> unrelatedComments = getUnrelatedComments(oldNodes.getKeyNode(), true);
         if (!unrelatedComments.isEmpty()) {
@@ -83,12 +202,7 @@ public class YamlUtils {
         }
     }
 
-    public static void remove(final MappingNode mappingNode, final String key) {
-        NodeTuple tuple = get(mappingNode, key);
-        if (tuple == null) return;
-        int index = mappingNode.getValue().indexOf(tuple);
-        mappingNode.getValue().remove(tuple);
-
+    private static void moveCommentsForRemove(final MappingNode mappingNode, final NodeTuple tuple, final int index) {
         List<CommentLine> unrelatedComments = getUnrelatedComments(tuple.getKeyNode(), false);
         if ((index == 0 && !unrelatedComments.isEmpty()) || unrelatedComments.size() > 1) {
             //If the first element has unrelated comments, or another element has more than just a blank line, copy all comments to the next element
@@ -169,8 +283,9 @@ public class YamlUtils {
         to.setEndComments(from.getEndComments());
         to.setInLineComments(from.getInLineComments());
         if (from instanceof MappingNode fromMap && to instanceof MappingNode toMap) {
+            MappingNodeIndex fromIndex = new MappingNodeIndex(fromMap);
             for (NodeTuple toTuple : toMap.getValue()) {
-                NodeTuple fromTuple = get(fromMap, ((ScalarNode) toTuple.getKeyNode()).getValue());
+                NodeTuple fromTuple = fromIndex.get(((ScalarNode) toTuple.getKeyNode()).getValue());
                 if (fromTuple == null) continue;
 
                 copyComments(fromTuple.getKeyNode(), toTuple.getKeyNode());
@@ -191,16 +306,19 @@ public class YamlUtils {
 
     public static boolean copyValues(final Node from, final Node to) {
         if (from instanceof MappingNode fromMap && to instanceof MappingNode toMap) {
-            for (NodeTuple fromTuple : fromMap.getValue()) {
-                NodeTuple toTuple = get(toMap, ((ScalarNode) fromTuple.getKeyNode()).getValue());
+            MappingNodeIndex toIndex = new MappingNodeIndex(toMap);
+            List<NodeTuple> fromTuples = fromMap.getValue();
+            for (int i = 0; i < fromTuples.size(); i++) {
+                NodeTuple fromTuple = fromTuples.get(i);
+                String key = ((ScalarNode) fromTuple.getKeyNode()).getValue();
+                NodeTuple toTuple = toIndex.get(key);
                 if (toTuple == null) {
                     //If the node does not exist in the target, add it
-                    int index = fromMap.getValue().indexOf(fromTuple);
-                    insert(toMap, fromTuple, index);
+                    insert(toIndex, fromTuple, i);
                 } else if (!copyValues(fromTuple.getValueNode(), toTuple.getValueNode())) {
                     //If the node was not merged, replace the value
                     NodeTuple newTuple = new NodeTuple(toTuple.getKeyNode(), fromTuple.getValueNode());
-                    toMap.getValue().set(toMap.getValue().indexOf(toTuple), newTuple);
+                    toIndex.set(toIndex.indexOf(key), newTuple);
 
                     //Copy the comments of the old value to the new value
                     newTuple.getValueNode().setBlockComments(toTuple.getValueNode().getBlockComments());
@@ -234,8 +352,9 @@ public class YamlUtils {
     public static boolean equals(final Node node1, final Node node2) {
         if (node1 instanceof MappingNode map1 && node2 instanceof MappingNode map2) {
             if (map1.getValue().size() != map2.getValue().size()) return false;
+            MappingNodeIndex index2 = new MappingNodeIndex(map2);
             for (NodeTuple tuple : map1.getValue()) {
-                NodeTuple otherTuple = get(map2, ((ScalarNode) tuple.getKeyNode()).getValue());
+                NodeTuple otherTuple = index2.get(((ScalarNode) tuple.getKeyNode()).getValue());
                 if (otherTuple == null || !equals(tuple.getValueNode(), otherTuple.getValueNode())) return false;
             }
             return true;
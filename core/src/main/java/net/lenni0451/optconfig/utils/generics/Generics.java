@@ -89,4 +89,26 @@ public class Generics {
         return null;
     }
 
+    /**
+     * Create a parameterized type.
+     *
+     * @param rawType             The raw type
+     * @param ownerType           The owner type or null if the raw type is not an inner class
+     * @param actualTypeArguments The type arguments
+     * @return The parameterized type
+     */
+    public static ParameterizedType parameterized(final Class<?> rawType, @Nullable final Type ownerType, final Type... actualTypeArguments) {
+        return new ParameterizedTypeImpl(rawType, actualTypeArguments.clone(), ownerType);
+    }
+
+    /**
+     * Create a generic array type.
+     *
+     * @param componentType The generic component type
+     * @return The generic array type
+     */
+    public static GenericArrayType arrayOf(final Type componentType) {
+        return new GenericArrayTypeImpl(componentType);
+    }
+
 }
@@ -0,0 +1,226 @@
+package net.lenni0451.optconfig.watcher;
+
+import net.lenni0451.optconfig.ConfigContext;
+import net.lenni0451.optconfig.provider.impl.PathConfigProvider;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Watches the files of config contexts backed by a {@link PathConfigProvider} and reloads them when they are changed.<br>
+ * All registered configs share a single {@link WatchService} and a single watcher thread.<br>
+ * Bursts of file events are coalesced using a debounce window, so a config is only reloaded once after the last event.<br>
+ * Changes caused by saving the config through its context are ignored (see {@link ConfigContext#hasChanged()}).<br>
+ * The watcher thread has to be started using {@link #start()}.
+ */
+public class ConfigWatcher implements Closeable {
+
+    private static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(100);
+
+    private final long debounceNanos;
+    private final Executor executor;
+    private final BiConsumer<ConfigContext<?>, Throwable> exceptionHandler;
+    private final WatchService watchService;
+    private final Map<Path, WatchKey> directories = new HashMap<>();
+    private final Map<Path, List<ConfigContext<?>>> contexts = new ConcurrentHashMap<>();
+    private final Map<Path, Long> pendingReloads = new HashMap<>();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    /**
+     * Create a new config watcher with a debounce window of 100ms.<br>
+     * The configs are reloaded on the watcher thread.
+     *
+     * @throws IOException If the watch service could not be created
+     */
+    public ConfigWatcher() throws IOException {
+        this(DEFAULT_DEBOUNCE, Runnable::run);
+    }
+
+    /**
+     * Create a new config watcher.<br>
+     * Exceptions thrown while reloading are passed to the uncaught exception handler of the reloading thread.
+     *
+     * @param debounce The time to wait after the last file event before reloading
+     * @param executor The executor to reload the configs on
+     * @throws IOException If the watch service could not be created
+     */
+    public ConfigWatcher(final Duration debounce, final Executor executor) throws IOException {
+        this(debounce, executor, (context, t) -> Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), t));
+    }
+
+    /**
+     * Create a new config watcher.
+     *
+     * @param debounce         The time to wait after the last file event before reloading
+     * @param executor         The executor to reload the configs on
+     * @param exceptionHandler The handler for exceptions thrown while reloading
+     * @throws IOException If the watch service could not be created
+     */
+    public ConfigWatcher(final Duration debounce, final Executor executor, final BiConsumer<ConfigContext<?>, Throwable> exceptionHandler) throws IOException {
+        this.debounceNanos = debounce.toNanos();
+        this.executor = executor;
+        this.exceptionHandler = exceptionHandler;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.thread = new Thread(this::run, "OptConfig Watcher");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Start the watcher thread.<br>
+     * Configs can be registered before and after the watcher has been started.
+     *
+     * @return The config watcher
+     * @throws IllegalStateException      If the watcher has already been started
+     * @throws ClosedWatchServiceException If the watcher has been closed
+     */
+    public synchronized ConfigWatcher start() {
+        if (this.closed) throw new ClosedWatchServiceException();
+        if (this.thread.getState() != Thread.State.NEW) throw new IllegalStateException("The config watcher has already been started");
+        this.thread.start();
+        return this;
+    }
+
+    /**
+     * Start watching the config file of the given context.<br>
+     * The config provider of the context must be a {@link PathConfigProvider} on the default file system.
+     *
+     * @param context The config context to watch
+     * @throws IOException If the directory of the config file could not be watched
+     */
+    public void register(final ConfigContext<?> context) throws IOException {
+        if (!(context.getConfigProvider() instanceof PathConfigProvider pathProvider)) {
+            throw new IllegalArgumentException("Only configs loaded from a PathConfigProvider can be watched");
+        }
+        if (pathProvider.getPath().getFileSystem() != FileSystems.getDefault()) {
+            throw new IllegalArgumentException("Only configs on the default file system can be watched");
+        }
+        if (this.closed) throw new ClosedWatchServiceException();
+        Path path = this.normalize(pathProvider.getPath());
+        Path directory = path.getParent();
+        synchronized (this.directories) {
+            if (!this.directories.containsKey(directory)) {
+                this.directories.put(directory, directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY));
+            }
+            this.contexts.computeIfAbsent(path, p -> new CopyOnWriteArrayList<>()).add(context);
+        }
+    }
+
+    /**
+     * Stop watching the config file of the given context.
+     *
+     * @param context The config context to stop watching
+     */
+    public void unregister(final ConfigContext<?> context) {
+        if (!(context.getConfigProvider() instanceof PathConfigProvider pathProvider)) return;
+        Path path = this.normalize(pathProvider.getPath());
+        synchronized (this.directories) {
+            List<ConfigContext<?>> pathContexts = this.contexts.get(path);
+            if (pathContexts == null) return;
+            pathContexts.remove(context);
+            if (!pathContexts.isEmpty()) return;
+            this.contexts.remove(path);
+
+            //Stop watching the directory if there are no other configs in it
+            Path directory = path.getParent();
+            for (Path watchedPath : this.contexts.keySet()) {
+                if (watchedPath.getParent().equals(directory)) return;
+            }
+            WatchKey key = this.directories.remove(directory);
+            if (key != null) key.cancel();
+        }
+    }
+
+    /**
+     * Stop watching all configs and stop the watcher thread.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        this.watchService.close();
+    }
+
+    private Path normalize(final Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private void run() {
+        try {
+            while (!this.closed) {
+                WatchKey key;
+                OptionalLong nextReload = this.pendingReloads.values().stream().mapToLong(Long::longValue).min();
+                if (nextReload.isEmpty()) {
+                    key = this.watchService.take();
+                } else {
+                    key = this.watchService.poll(Math.max(0, nextReload.getAsLong() - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+                if (key != null) this.handleEvents(key);
+                this.reloadPending();
+            }
+        } catch (ClosedWatchServiceException | InterruptedException ignored) {
+            //The watcher has been closed
+        }
+    }
+
+    private void handleEvents(final WatchKey key) {
+        Path directory = (Path) key.watchable();
+        long reloadTime = System.nanoTime() + this.debounceNanos;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                //Events were lost, check all configs in the directory
+                for (Path path : this.contexts.keySet()) {
+                    if (path.getParent().equals(directory)) this.pendingReloads.put(path, reloadTime);
+                }
+            } else if (event.context() instanceof Path fileName) {
+                //Events for other files (e.g. the temporary file used for saving) are ignored
+                Path path = directory.resolve(fileName);
+                if (this.contexts.containsKey(path)) this.pendingReloads.put(path, reloadTime);
+            }
+        }
+        key.reset();
+    }
+
+    private void reloadPending() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Path, Long>> it = this.pendingReloads.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Path, Long> entry = it.next();
+            if (entry.getValue() - now > 0) continue;
+            it.remove();
+
+            List<ConfigContext<?>> pathContexts = this.contexts.get(entry.getKey());
+            if (pathContexts == null) continue;
+            for (ConfigContext<?> context : pathContexts) {
+                try {
+                    //Skip the reload if the file was saved by the context itself
+                    if (!context.hasChanged()) continue;
+                    this.executor.execute(() -> this.reload(context));
+                } catch (Throwable t) {
+                    this.exceptionHandler.accept(context, t);
+                }
+            }
+        }
+    }
+
+    private void reload(final ConfigContext<?> context) {
+        try {
+            synchronized (context) {
+                //The stamp has to be checked again in case the config was reloaded in the meantime
+                if (context.hasChanged()) context.reload();
+            }
+        } catch (Throwable t) {
+            this.exceptionHandler.accept(context, t);
+        }
+    }
+
+}
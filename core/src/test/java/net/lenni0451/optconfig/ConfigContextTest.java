@@ -0,0 +1,216 @@
+package net.lenni0451.optconfig;
+
+import net.lenni0451.optconfig.annotations.OptConfig;
+import net.lenni0451.optconfig.annotations.Option;
+import net.lenni0451.optconfig.annotations.Section;
+import net.lenni0451.optconfig.provider.ConfigProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.nodes.Node;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigContextTest {
+
+    @Test
+    void saveRetainedNode(@TempDir final Path dir) throws Throwable {
+        Path file = dir.resolve("config.yml");
+        Files.writeString(file, "# User comment\na: Hello\nb: 1\n");
+        ConfigContext<Config> context = new ConfigLoader<>(Config.class).load(ConfigProvider.path(file));
+
+        context.getConfigInstance().b = 2;
+        context.save();
+        context.getConfigInstance().b = 3;
+        context.save();
+        String content = Files.readString(file);
+        assertTrue(content.contains("# User comment"));
+        assertTrue(content.contains("b: 3"));
+        assertFalse(Files.exists(dir.resolve("config.yml.tmp")));
+
+        //External changes have to be picked up before saving
+        Files.writeString(file, "# Changed externally\na: Hello\nb: 3\n");
+        context.getConfigInstance().b = 4;
+        context.save();
+        content = Files.readString(file);
+        assertTrue(content.contains("# Changed externally"));
+        assertFalse(content.contains("# User comment"));
+        assertTrue(content.contains("b: 4"));
+    }
+
+    @Test
+    void failedSaveKeepsContent(@TempDir final Path dir) throws Throwable {
+        String original = "a: Hello\nb: 1\ninner:\n  c: 0\n";
+        Path file = dir.resolve("config.yml");
+        Files.writeString(file, original);
+        byte[][] content = {original.getBytes()};
+        ConfigLoader<Config> loader = new ConfigLoader<>(() -> new Yaml() {
+            @Override
+            public void serialize(final Node data, final Writer output) {
+                try {
+                    output.write("a: Hel");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                throw new IllegalStateException("Emitter failed");
+            }
+        }, Config.class);
+        ConfigContext<Config> pathContext = loader.load(ConfigProvider.path(file));
+        ConfigContext<Config> memoryContext = loader.load(ConfigProvider.memory(() -> content[0], bytes -> content[0] = bytes));
+
+        pathContext.getConfigInstance().b = 2;
+        assertThrows(IllegalStateException.class, pathContext::save);
+        assertEquals(original, Files.readString(file));
+        assertFalse(Files.exists(dir.resolve("config.yml.tmp")));
+
+        memoryContext.getConfigInstance().b = 2;
+        assertThrows(IllegalStateException.class, memoryContext::save);
+        assertEquals(original, new String(content[0]));
+    }
+
+    @Test
+    void skipUnchangedReload() throws Throwable {
+        byte[][] content = {"a: Hello\nb: 1\n".getBytes()};
+        AtomicInteger loads = new AtomicInteger();
+        ConfigLoader<Config> skippingLoader = new ConfigLoader<>(Config.class);
+        skippingLoader.getConfigOptions().setSkipUnchangedReloads(true);
+        ConfigContext<Config> context = skippingLoader.load(ConfigProvider.memory(() -> {
+            loads.incrementAndGet();
+            return content[0];
+        }, bytes -> content[0] = bytes));
+        assertEquals(1, context.getConfigInstance().b);
+
+        //The content did not change, the in memory value is kept
+        context.getConfigInstance().b = 2;
+        loads.set(0);
+        context.reload();
+        assertEquals(2, context.getConfigInstance().b);
+        assertEquals(1, loads.get());
+
+        //The content is only loaded once for detecting the change and reloading
+        content[0] = "a: Hello\nb: 3\ninner:\n  c: 0\n".getBytes();
+        loads.set(0);
+        context.reload();
+        assertEquals(3, context.getConfigInstance().b);
+        assertEquals(1, loads.get());
+
+        //By default unchanged configs are reloaded as well
+        context = new ConfigLoader<>(Config.class).load(ConfigProvider.memory(() -> content[0], bytes -> content[0] = bytes));
+        context.getConfigInstance().b = 4;
+        context.reload();
+        assertEquals(3, context.getConfigInstance().b);
+    }
+
+    @Test
+    void changeListener() throws Throwable {
+        byte[][] content = {"a: Hello\nb: 1\ninner:\n  c: 2\n".getBytes()};
+        ConfigContext<Config> context = new ConfigLoader<>(Config.class).load(ConfigProvider.memory(() -> content[0], bytes -> content[0] = bytes));
+        String a = context.getConfigInstance().a;
+        List<OptionChange> changes = new ArrayList<>();
+        context.addChangeListener(changes::addAll);
+
+        content[0] = "a: Hello\nb: 1\ninner:\n  c: 3\n".getBytes();
+        context.reload();
+        assertEquals(List.of(new OptionChange(List.of("inner", "c"), 2, 3)), changes);
+        assertSame(a, context.getConfigInstance().a); //Unchanged options are not written
+    }
+
+    @Test
+    void snapshotReload() throws Throwable {
+        byte[][] content = {"a: Hello\nb: 1\ninner:\n  c: 2\n".getBytes()};
+        ConfigLoader<Config> loader = new ConfigLoader<>(Config.class);
+        loader.getConfigOptions().setSnapshotReloads(true);
+        ConfigContext<Config> context = loader.load(ConfigProvider.memory(() -> content[0], bytes -> content[0] = bytes));
+        Config oldConfig = context.getConfigInstance();
+
+        content[0] = "a: World\nb: 1\ninner:\n  c: 3\n".getBytes();
+        context.reload();
+        Config newConfig = context.getConfigInstance();
+        assertNotSame(oldConfig, newConfig);
+        assertNotSame(oldConfig.inner, newConfig.inner);
+        //The old instance is not modified
+        assertEquals("Hello", oldConfig.a);
+        assertEquals(2, oldConfig.inner.c);
+        assertEquals("World", newConfig.a);
+        assertEquals(1, newConfig.b);
+        assertEquals(3, newConfig.inner.c);
+    }
+
+    @Test
+    void saveAsync() throws Throwable {
+        byte[][] content = {"a: Hello\nb: 1\n".getBytes()};
+        AtomicInteger writes = new AtomicInteger();
+        ConfigContext<Config> context = new ConfigLoader<>(Config.class).load(ConfigProvider.memory(() -> content[0], bytes -> {
+            writes.incrementAndGet();
+            content[0] = bytes;
+        }));
+        int initialWrites = writes.get();
+
+        context.getConfigInstance().b = 2;
+        CompletableFuture<Void> first = context.saveAsync();
+        context.getConfigInstance().b = 3;
+        CompletableFuture<Void> second = context.saveAsync();
+        assertNotSame(first, second);
+        //Completing a returned future must not complete the pending save of other callers
+        first.complete(null);
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(initialWrites + 1, writes.get());
+        assertTrue(new String(content[0]).contains("b: 3"));
+
+        //A new save is scheduled after the pending one has been written
+        context.getConfigInstance().b = 4;
+        context.saveAsync().get(5, TimeUnit.SECONDS);
+        assertEquals(initialWrites + 2, writes.get());
+        assertTrue(new String(content[0]).contains("b: 4"));
+    }
+
+    @Test
+    void saveAsyncRejected() throws Throwable {
+        byte[][] content = {"a: Hello\nb: 1\n".getBytes()};
+        ConfigLoader<Config> loader = new ConfigLoader<>(Config.class);
+        loader.getConfigOptions().setSaveExecutor(task -> {
+            throw new RejectedExecutionException("Rejected");
+        });
+        ConfigContext<Config> context = loader.load(ConfigProvider.memory(() -> content[0], bytes -> content[0] = bytes));
+
+        CompletableFuture<Void> future = context.saveAsync();
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        //The rejected save must not stay pending
+        loader.getConfigOptions().setSaveExecutor(Runnable::run);
+        context.saveAsync().get(5, TimeUnit.SECONDS);
+    }
+
+
+    @OptConfig
+    public static class Config {
+        @Option("a")
+        public String a = "a";
+
+        @Option("b")
+        public int b = 0;
+
+        @Option("inner")
+        public Inner inner;
+
+        @Section
+        public static class Inner {
+            @Option("c")
+            public int c = 0;
+        }
+    }
+
+}
@@ -0,0 +1,382 @@
+package net.lenni0451.optconfig;
+
+import net.lenni0451.optconfig.annotations.NotReloadable;
+import net.lenni0451.optconfig.annotations.OptConfig;
+import net.lenni0451.optconfig.annotations.Option;
+import net.lenni0451.optconfig.annotations.Section;
+import net.lenni0451.optconfig.annotations.TypeSerializer;
+import net.lenni0451.optconfig.provider.ConfigProvider;
+import net.lenni0451.optconfig.provider.impl.PathConfigProvider;
+import net.lenni0451.optconfig.serializer.ConfigTypeSerializer;
+import net.lenni0451.optconfig.serializer.info.DeserializerInfo;
+import net.lenni0451.optconfig.serializer.info.SerializerInfo;
+import net.lenni0451.optconfig.utils.ValueCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigLoaderTest {
+
+    @Test
+    void mergeDifferences() throws IOException {
+        AtomicReference<String> content = new AtomicReference<>("""
+                # User comment
+                a: Hello
+                unknown: 1
+                section:
+                  # Another user comment
+                  b: 5
+                """);
+        ConfigContext<Config> context = new ConfigLoader<>(Config.class).load(provider(content));
+        assertEquals("Hello", context.getConfigInstance().a);
+        assertEquals(5, context.getConfigInstance().section.b);
+
+        String saved = content.get();
+        assertTrue(saved.contains("# User comment"));
+        assertTrue(saved.contains("# Another user comment"));
+        assertFalse(saved.contains("unknown"));
+        assertTrue(saved.contains("c: c"));
+    }
+
+    @Test
+    void mergeKeys() throws IOException {
+        AtomicReference<String> content = new AtomicReference<>("""
+                defaults: &defaults
+                  b: 7
+                a: Hello
+                section:
+                  <<: *defaults
+                """);
+        ConfigContext<Config> context = new ConfigLoader<>(Config.class).load(provider(content));
+        assertEquals("Hello", context.getConfigInstance().a);
+        assertEquals(7, context.getConfigInstance().section.b);
+    }
+
+    @Test
+    void emptyFile() throws IOException {
+        AtomicReference<String> content = new AtomicReference<>("");
+        ConfigContext<Config> context = new ConfigLoader<>(Config.class).load(new ConfigProvider() {
+            @Override
+            public byte[] load() {
+                return content.get().getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public void save(final byte[] bytes) {
+                content.set(new String(bytes, StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public boolean exists() {
+                return true;
+            }
+        });
+        assertEquals("a", context.getConfigInstance().a);
+        assertTrue(content.get().contains("a: a"));
+    }
+
+    @Test
+    void concurrentLoad() throws Exception {
+        ConfigLoader<Config> loader = new ConfigLoader<>(Config.class);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ConfigContext<Config>>> futures = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                AtomicReference<String> content = new AtomicReference<>("a: Hello " + i + "\nsection:\n  b: " + i + "\n");
+                futures.add(executor.submit(() -> loader.load(provider(content))));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                Config config = futures.get(i).get().getConfigInstance();
+                assertEquals("Hello " + i, config.a);
+                assertEquals(i, config.section.b);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void optionsSnapshot() throws IOException {
+        ConfigLoader<Config> loader = new ConfigLoader<>(Config.class);
+        assertSame(loader.getYaml(), loader.getYaml());
+        ConfigLoader<Config> snapshot = loader.snapshot();
+        loader.getConfigOptions().setCommentSpacing(2);
+        assertEquals(1, snapshot.getConfigOptions().getCommentSpacing());
+        assertSame(loader.getTypeSerializers(), snapshot.getTypeSerializers());
+
+        //The options can still be changed after loading and apply to the following operations
+        ConfigContext<Config> context = loader.load(provider(new AtomicReference<>("a: Hello\n")));
+        loader.getConfigOptions().setCommentSpacing(3);
+        assertSame(loader, context.getConfigLoader());
+        assertEquals(3, loader.getConfigOptions().getCommentSpacing());
+    }
+
+    @Test
+    void loadAll() {
+        List<ConfigProvider> providers = List.of(
+                provider(new AtomicReference<>("a: First\n")),
+                provider(new AtomicReference<>("a: [broken\n")),
+                provider(new AtomicReference<>("a: Third\n"))
+        );
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<LoadResult<Config>> results = new ConfigLoader<>(Config.class).loadAll(providers, executor);
+            assertEquals(3, results.size());
+            assertEquals("First", results.get(0).context().getConfigInstance().a);
+            assertFalse(results.get(1).isSuccess());
+            assertSame(providers.get(1), results.get(1).configProvider());
+            assertEquals("Third", results.get(2).context().getConfigInstance().a);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void mappedPath(@TempDir final Path dir) throws Throwable {
+        Path file = dir.resolve("config.yml");
+        Files.writeString(file, "a: Hällo 🌍\nsection:\n  b: 3\n");
+        ConfigContext<Config> context = new ConfigLoader<>(Config.class).load(ConfigProvider.mappedPath(file));
+        assertEquals("Hällo 🌍", context.getConfigInstance().a);
+        assertEquals(3, context.getConfigInstance().section.b);
+
+        //Small files are not mapped, so they can be replaced right after loading
+        context.getConfigInstance().section.b = 4;
+        context.save();
+        context.reload();
+        assertEquals(4, context.getConfigInstance().section.b);
+        assertTrue(Files.readString(file).contains("b: 4"));
+
+        //Large files are mapped
+        Files.writeString(file, "a: Hällo 🌍\nsection:\n  b: 5\nc: \"" + "c".repeat(1024 * 1024) + "\"\n");
+        context.reload();
+        assertEquals(5, context.getConfigInstance().section.b);
+        assertEquals(1024 * 1024, context.getConfigInstance().c.length());
+    }
+
+    @Test
+    void memorySupplierCalledOnce() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        ConfigProvider provider = ConfigProvider.memory(() -> {
+            calls.incrementAndGet();
+            return "a: Hello\nsection:\n  b: 1\nc: c\n".getBytes(StandardCharsets.UTF_8);
+        }, bytes -> {});
+        new ConfigLoader<>(Config.class).load(provider);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void compiledCache(@TempDir final Path dir) throws IOException {
+        Path file = dir.resolve("config.yml");
+        Files.writeString(file, "a: Hello\nsection:\n  b: 1\nc: c\n");
+        ConfigLoader<Config> loader = new ConfigLoader<>(Config.class);
+        loader.getConfigOptions().setCompiledCache(true);
+        PathConfigProvider provider = ConfigProvider.path(file);
+        assertEquals("Hello", loader.load(provider).getConfigInstance().a);
+        assertTrue(Files.exists(dir.resolve("config.yml.cache")));
+
+        //The cached values are used as long as the content is unchanged
+        byte[] hash = ValueCache.hash(Files.readAllBytes(file));
+        ValueCache.write(provider.getCacheProvider(), hash, Map.of("a", "Cached", "section", Map.of("b", 2), "c", "c"));
+        Config config = loader.load(provider).getConfigInstance();
+        assertEquals("Cached", config.a);
+        assertEquals(2, config.section.b);
+
+        Files.writeString(file, "a: World\nsection:\n  b: 1\nc: c\n");
+        assertEquals("World", loader.load(provider).getConfigInstance().a);
+    }
+
+    @Test
+    void lazySection() throws Throwable {
+        AtomicReference<String> content = new AtomicReference<>("""
+                a: Hello
+                section:
+                  b: 5
+                """);
+        ConfigContext<LazyConfig> context = new ConfigLoader<>(LazyConfig.class).load(provider(content));
+        LazyConfig config = context.getConfigInstance();
+        assertEquals("Hello", config.a);
+        assertEquals(1, config.section.b); //Not deserialized until accessed
+        assertSame(config.section, context.getSection(config.section));
+        assertEquals(5, config.section.b);
+
+        //Saving writes the loaded values of sections which were never accessed
+        context = new ConfigLoader<>(LazyConfig.class).load(provider(content));
+        content.set(content.get().replace("a: Hello", "a: World"));
+        context.save();
+        assertEquals(5, context.getConfigInstance().section.b);
+        assertTrue(content.get().contains("b: 5"));
+    }
+
+    @Test
+    void lazySectionEditBeforeSave() throws Throwable {
+        AtomicReference<String> content = new AtomicReference<>("""
+                a: Hello
+                section:
+                  b: 5
+                  port: 8080
+                """);
+        ConfigContext<LazyConfig> context = new ConfigLoader<>(LazyConfig.class).load(provider(content));
+        //Options written without accessing the section through the context must not be overwritten with the loaded values
+        context.getConfigInstance().section.b = 7;
+        context.save();
+        assertEquals(7, context.getConfigInstance().section.b);
+        assertEquals(8080, context.getConfigInstance().section.port);
+        assertTrue(content.get().contains("b: 7"));
+        assertTrue(content.get().contains("port: 8080"));
+    }
+
+    @Test
+    void lazySectionReload() throws Throwable {
+        AtomicReference<String> content = new AtomicReference<>("""
+                a: Hello
+                section:
+                  b: 5
+                  port: 8080
+                """);
+        ConfigContext<LazyConfig> context = new ConfigLoader<>(LazyConfig.class).load(provider(content));
+        List<OptionChange> changes = new ArrayList<>();
+        context.addChangeListener(changes::addAll);
+
+        //Not reloadable options keep their loaded values, even if the section was never accessed
+        content.set(content.get().replace("b: 5", "b: 6").replace("port: 8080", "port: 9090"));
+        context.reload();
+        LazyConfig config = context.getConfigInstance();
+        assertEquals(List.of(new OptionChange(List.of("section", "b"), 5, 6)), changes);
+        assertEquals(8080, context.getSection(config.section).port);
+        assertEquals(6, config.section.b);
+    }
+
+    @Test
+    void typeSerializerInstances() throws IOException {
+        AtomicReference<String> content = new AtomicReference<>("a: Hello\nb: World\nc: 1\nd: 2\n");
+        ConfigLoader<SerializerConfig> loader = new ConfigLoader<>(SerializerConfig.class);
+        SharedSerializer.USES.clear();
+        StatefulSerializer.USES.clear();
+        loader.load(provider(content));
+        loader.load(provider(content));
+
+        //Stateless type serializers are shared between all options and loads of a loader
+        assertFalse(SharedSerializer.USES.isEmpty());
+        assertEquals(1, distinct(SharedSerializer.USES).size());
+        //Stateful type serializers get a new instance every time they are used
+        assertTrue(StatefulSerializer.USES.size() > 2);
+        assertEquals(StatefulSerializer.USES.size(), distinct(StatefulSerializer.USES).size());
+
+        //Different loaders do not share the instances
+        Object sharedInstance = SharedSerializer.USES.get(0);
+        new ConfigLoader<>(SerializerConfig.class).load(provider(content));
+        assertNotSame(sharedInstance, SharedSerializer.USES.get(SharedSerializer.USES.size() - 1));
+    }
+
+    private static Set<Object> distinct(final List<Object> instances) {
+        Set<Object> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinct.addAll(instances);
+        return distinct;
+    }
+
+    private static ConfigProvider provider(final AtomicReference<String> content) {
+        return ConfigProvider.memory(() -> content.get().getBytes(StandardCharsets.UTF_8), bytes -> content.set(new String(bytes, StandardCharsets.UTF_8)));
+    }
+
+
+    @OptConfig
+    public static class Config {
+        @Option("a")
+        public String a = "a";
+
+        @Option("section")
+        public SubSection section;
+
+        @Option("c")
+        public String c = "c";
+
+        @Section
+        public static class SubSection {
+            @Option("b")
+            public int b = 1;
+        }
+    }
+
+    @OptConfig
+    public static class LazyConfig {
+        @Option("a")
+        public String a = "a";
+
+        @Option("section")
+        public LazySubSection section;
+
+        @Section(lazy = true)
+        public static class LazySubSection {
+            @Option("b")
+            public int b = 1;
+
+            @Option("port")
+            @NotReloadable
+            public int port = 0;
+        }
+    }
+
+    @OptConfig
+    public static class SerializerConfig {
+        @Option("a")
+        @TypeSerializer(SharedSerializer.class)
+        public String a = "a";
+
+        @Option("b")
+        @TypeSerializer(SharedSerializer.class)
+        public String b = "b";
+
+        @Option("c")
+        @TypeSerializer(value = StatefulSerializer.class, stateful = true)
+        public String c = "c";
+
+        @Option("d")
+        @TypeSerializer(value = StatefulSerializer.class, stateful = true)
+        public String d = "d";
+    }
+
+    public static class SharedSerializer implements ConfigTypeSerializer<String> {
+        private static final List<Object> USES = new ArrayList<>();
+
+        @Override
+        public String deserialize(final DeserializerInfo<String> info) {
+            USES.add(this);
+            return String.valueOf(info.value());
+        }
+
+        @Override
+        public Object serialize(final SerializerInfo<String> info) {
+            USES.add(this);
+            return info.value();
+        }
+    }
+
+    public static class StatefulSerializer implements ConfigTypeSerializer<String> {
+        private static final List<Object> USES = new ArrayList<>();
+
+        @Override
+        public String deserialize(final DeserializerInfo<String> info) {
+            USES.add(this);
+            return String.valueOf(info.value());
+        }
+
+        @Override
+        public Object serialize(final SerializerInfo<String> info) {
+            USES.add(this);
+            return info.value();
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package net.lenni0451.optconfig.access;
+
+import net.lenni0451.optconfig.ConfigOptions;
+import net.lenni0451.optconfig.access.types.ClassAccess;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CachingClassAccessFactoryTest {
+
+    @Test
+    void sharedDefaultFactory() {
+        ClassAccessFactory factory = new ConfigOptions().getClassAccessFactory();
+        assertSame(factory, new ConfigOptions().getClassAccessFactory());
+
+        ClassAccess classAccess = factory.create(Target.class);
+        assertSame(classAccess, factory.create(Target.class));
+        assertSame(classAccess.getFields(), classAccess.getFields());
+        assertSame(classAccess.getMethods(), classAccess.getMethods());
+        assertSame(classAccess.getConstructors(), classAccess.getConstructors());
+        assertSame(classAccess.getInnerClasses(), classAccess.getInnerClasses());
+    }
+
+
+    private static class Target {
+        private int field;
+
+        private void method() {
+        }
+
+        private static class Inner {
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package net.lenni0451.optconfig.access;
+
+import net.lenni0451.optconfig.access.impl.methodhandles.MethodHandleClassAccess;
+import net.lenni0451.optconfig.access.types.ClassAccess;
+import net.lenni0451.optconfig.access.types.FieldAccess;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MethodHandleAccessTest {
+
+    private final ClassAccess classAccess = new MethodHandleClassAccess(MethodHandles.lookup(), Target.class);
+
+    @Test
+    void fields() {
+        Target target = new Target();
+        FieldAccess instanceField = this.getField("instanceField");
+        instanceField.setValue(target, 5);
+        assertEquals(5, instanceField.getValue(target));
+
+        FieldAccess staticField = this.getField("staticField");
+        staticField.setValue(null, "test");
+        assertEquals("test", staticField.getValue(null));
+    }
+
+    @Test
+    void methods() {
+        assertEquals("a-b", this.classAccess.tryGetMethod("join", String.class, String.class, String.class).invoke(null, "a", "b"));
+        assertEquals(3, this.classAccess.tryGetMethod("add", int.class, int.class).invoke(new Target(1), 2));
+    }
+
+    @Test
+    void constructor() {
+        Target target = this.classAccess.tryGetConstructor(int.class).castInstance(7);
+        assertEquals(7, target.instanceField);
+    }
+
+    private FieldAccess getField(final String name) {
+        return Arrays.stream(this.classAccess.getFields()).filter(field -> field.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+
+    private static class Target {
+        private static String staticField;
+        private int instanceField;
+
+        private Target() {
+        }
+
+        private Target(final int instanceField) {
+            this.instanceField = instanceField;
+        }
+
+        private static String join(final String a, final String b) {
+            return a + "-" + b;
+        }
+
+        private int add(final int a) {
+            return this.instanceField + a;
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package net.lenni0451.optconfig.access.impl.bytecode;
+
+import net.lenni0451.optconfig.access.types.ClassAccess;
+import net.lenni0451.optconfig.access.types.FieldAccess;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BytecodeAccessTest {
+
+    private final ClassAccess classAccess = new BytecodeClassAccess(MethodHandles.lookup(), Target.class);
+
+    @Test
+    void generated() throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        assertNotNull(AccessorGenerator.generate(lookup, Target.class.getDeclaredField("instanceField")));
+        assertNotNull(AccessorGenerator.generate(lookup, Target.class.getDeclaredMethod("sum", long.class, double.class, List.class)));
+        assertNotNull(AccessorGenerator.generate(lookup, Target.class.getDeclaredConstructor(int.class)));
+    }
+
+    @Test
+    void fields() {
+        Target target = new Target();
+        FieldAccess instanceField = this.getField("instanceField");
+        instanceField.setValue(target, 5);
+        assertEquals(5, instanceField.getValue(target));
+
+        FieldAccess staticField = this.getField("staticField");
+        staticField.setValue(null, "test");
+        assertEquals("test", staticField.getValue(null));
+
+        //Final fields fall back to reflection for writing
+        FieldAccess finalField = this.getField("finalField");
+        finalField.setValue(target, new int[]{1});
+        assertArrayEquals(new int[]{1}, (int[]) finalField.getValue(target));
+    }
+
+    @Test
+    void methods() {
+        assertEquals("a-b", this.classAccess.tryGetMethod("join", String.class, String.class, String.class).invoke(null, "a", "b"));
+        assertEquals(6.5D, this.classAccess.tryGetMethod("sum", double.class, long.class, double.class, List.class).invoke(new Target(1), 2L, 0.5D, List.of(1, 2)));
+        assertNull(this.classAccess.tryGetMethod("reset", void.class).invoke(new Target(1)));
+    }
+
+    @Test
+    void constructor() {
+        Target target = this.classAccess.tryGetConstructor(int.class).castInstance(7);
+        assertEquals(7, target.instanceField);
+    }
+
+    private FieldAccess getField(final String name) {
+        return Arrays.stream(this.classAccess.getFields()).filter(field -> field.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+
+    private static class Target {
+        private static String staticField;
+        private final int[] finalField = new int[0];
+        private int instanceField;
+
+        private Target() {
+        }
+
+        private Target(final int instanceField) {
+            this.instanceField = instanceField;
+        }
+
+        private static String join(final String a, final String b) {
+            return a + "-" + b;
+        }
+
+        private double sum(final long a, final double b, final List<Integer> c) {
+            return this.instanceField + a + b + c.stream().mapToInt(Integer::intValue).sum();
+        }
+
+        private void reset() {
+            this.instanceField = 0;
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package net.lenni0451.optconfig.index;
+
+import net.lenni0451.optconfig.ConfigLoader;
+import net.lenni0451.optconfig.access.CachingClassAccessFactory;
+import net.lenni0451.optconfig.access.ClassAccessFactory;
+import net.lenni0451.optconfig.access.impl.reflection.ReflectionClassAccess;
+import net.lenni0451.optconfig.access.types.ClassAccess;
+import net.lenni0451.optconfig.annotations.OptConfig;
+import net.lenni0451.optconfig.annotations.Option;
+import net.lenni0451.optconfig.annotations.Section;
+import net.lenni0451.optconfig.index.types.ConfigIndex;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClassIndexerTest {
+
+    @Test
+    void cachedIndex() {
+        ConfigLoader<Config> loader = new ConfigLoader<>(Config.class);
+        Config config1 = new Config();
+        Config config2 = new Config();
+        ConfigIndex index1 = ClassIndexer.indexClassAndInit(ConfigType.INSTANCED, loader, config1);
+        ConfigIndex index2 = ClassIndexer.indexClassAndInit(ConfigType.INSTANCED, new ConfigLoader<>(Config.class), config2);
+        assertSame(index1, index2);
+
+        //The sections still have to be initialized for each instance
+        assertNotNull(config1.section);
+        assertNotNull(config2.section);
+        assertNotSame(config1.section, config2.section);
+    }
+
+    @Test
+    void uncachedIndex() {
+        ConfigLoader<Config> loader = new ConfigLoader<>(Config.class);
+        loader.getConfigOptions().setCacheClassIndex(false);
+        ConfigIndex index1 = ClassIndexer.indexClassAndInit(ConfigType.INSTANCED, loader, new Config());
+        ConfigIndex index2 = ClassIndexer.indexClassAndInit(ConfigType.INSTANCED, loader, new Config());
+        assertNotSame(index1, index2);
+    }
+
+    @Test
+    void cachingFactory() {
+        ClassAccessFactory factory = new CachingClassAccessFactory(newFactory());
+        ConfigLoader<Config> loader1 = new ConfigLoader<>(Config.class);
+        loader1.getConfigOptions().setClassAccessFactory(factory);
+        ConfigLoader<Config> loader2 = new ConfigLoader<>(Config.class);
+        loader2.getConfigOptions().setClassAccessFactory(factory);
+        assertSame(ClassIndexer.getIndex(ConfigType.INSTANCED, loader1), ClassIndexer.getIndex(ConfigType.INSTANCED, loader2));
+
+        //The index is cached per factory
+        loader2.getConfigOptions().setClassAccessFactory(new CachingClassAccessFactory(newFactory()));
+        assertNotSame(ClassIndexer.getIndex(ConfigType.INSTANCED, loader1), ClassIndexer.getIndex(ConfigType.INSTANCED, loader2));
+    }
+
+    @Test
+    void uncachedFactory() {
+        //Other factories are not cached, a new factory for every loader would otherwise fill the cache forever
+        ConfigLoader<Config> loader = new ConfigLoader<>(Config.class);
+        loader.getConfigOptions().setClassAccessFactory(newFactory());
+        assertNotSame(ClassIndexer.getIndex(ConfigType.INSTANCED, loader), ClassIndexer.getIndex(ConfigType.INSTANCED, loader));
+    }
+
+    private static ClassAccessFactory newFactory() {
+        //Method references are shared, so an anonymous class is required to get a new factory every time
+        return new ClassAccessFactory() {
+            @Override
+            public ClassAccess create(final Class<?> clazz) {
+                return new ReflectionClassAccess(clazz);
+            }
+        };
+    }
+
+
+    @OptConfig
+    public static class Config {
+        @Option("a")
+        public String a = "a";
+
+        @Option("section")
+        public SubSection section;
+
+        @Section
+        public static class SubSection {
+            @Option("b")
+            public int b = 1;
+        }
+    }
+
+}
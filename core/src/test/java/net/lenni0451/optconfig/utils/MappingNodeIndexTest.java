@@ -0,0 +1,62 @@
+package net.lenni0451.optconfig.utils;
+
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.nodes.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappingNodeIndexTest {
+
+    @Test
+    void duplicateKeys() {
+        MappingNodeIndex index = new MappingNodeIndex(mapping("a", "b", "a", "c"));
+        assertEquals(0, index.indexOf("a"));
+        assertEquals(1, index.indexOf("b"));
+
+        //Removing the first occurrence exposes the second one
+        index.remove(0);
+        assertEquals(1, index.indexOf("a"));
+        assertEquals(0, index.indexOf("b"));
+        assertEquals(2, index.indexOf("c"));
+
+        index.remove(1);
+        assertEquals(-1, index.indexOf("a"));
+        assertEquals(1, index.indexOf("c"));
+    }
+
+    @Test
+    void insertAndSet() {
+        MappingNodeIndex index = new MappingNodeIndex(mapping("a", "b", "c"));
+        index.insert(1, tuple("d"));
+        assertEquals(0, index.indexOf("a"));
+        assertEquals(1, index.indexOf("d"));
+        assertEquals(2, index.indexOf("b"));
+        assertEquals(3, index.indexOf("c"));
+
+        index.set(2, tuple("e"));
+        assertEquals(-1, index.indexOf("b"));
+        assertEquals(2, index.indexOf("e"));
+        assertSame(index.get(3), index.get("c"));
+        assertSame(YamlUtils.get(index.getNode(), "e"), index.get("e"));
+    }
+
+
+    private static MappingNode mapping(final String... keys) {
+        List<NodeTuple> tuples = new ArrayList<>();
+        for (String key : keys) tuples.add(tuple(key));
+        return new MappingNode(Tag.MAP, tuples, DumperOptions.FlowStyle.BLOCK);
+    }
+
+    private static NodeTuple tuple(final String key) {
+        return new NodeTuple(scalar(key), scalar("value"));
+    }
+
+    private static ScalarNode scalar(final String value) {
+        return new ScalarNode(Tag.STR, value, null, null, DumperOptions.ScalarStyle.PLAIN);
+    }
+
+}
@@ -0,0 +1,65 @@
+package net.lenni0451.optconfig.utils;
+
+import net.lenni0451.optconfig.provider.ConfigProvider;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueCacheTest {
+
+    private static final byte[] HASH = ValueCache.hash("a: Hello\n".getBytes());
+
+    @Test
+    void roundTrip() {
+        byte[][] content = {new byte[0]};
+        ConfigProvider cacheProvider = ConfigProvider.memory(() -> content[0], bytes -> content[0] = bytes);
+        Map<String, Object> values = Map.of("a", List.of(1, "Hello"), "b", Map.of("c", true));
+        ValueCache.write(cacheProvider, HASH, values);
+        assertEquals(values, ValueCache.read(cacheProvider, HASH));
+        assertNull(ValueCache.read(cacheProvider, ValueCache.hash(new byte[0])));
+    }
+
+    @Test
+    void corruptLength() throws IOException {
+        byte[][] content = {new byte[0]};
+        ConfigProvider cacheProvider = ConfigProvider.memory(() -> content[0], bytes -> content[0] = bytes);
+        ValueCache.write(cacheProvider, HASH, Map.of("a", "Hello"));
+        byte[] valid = content[0];
+
+        //The length of the root map
+        content[0] = corrupt(valid, valid.length - 20, Integer.MAX_VALUE);
+        assertNull(ValueCache.read(cacheProvider, HASH));
+        //The length of the string key
+        content[0] = corrupt(valid, valid.length - 15, Integer.MAX_VALUE);
+        assertNull(ValueCache.read(cacheProvider, HASH));
+        content[0] = corrupt(valid, valid.length - 15, -1);
+        assertNull(ValueCache.read(cacheProvider, HASH));
+    }
+
+    @Test
+    void recursiveValues() {
+        byte[][] content = {new byte[0]};
+        ConfigProvider cacheProvider = ConfigProvider.memory(() -> content[0], bytes -> content[0] = bytes);
+        List<Object> list = new ArrayList<>();
+        list.add(list);
+        ValueCache.write(cacheProvider, HASH, Map.of("a", list));
+        assertEquals(0, content[0].length);
+    }
+
+    private static byte[] corrupt(final byte[] content, final int offset, final int length) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(content, 0, offset);
+        out.writeInt(length);
+        out.write(content, offset + 4, content.length - offset - 4);
+        return bytes.toByteArray();
+    }
+
+}
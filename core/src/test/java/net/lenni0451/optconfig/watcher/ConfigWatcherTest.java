@@ -0,0 +1,64 @@
+package net.lenni0451.optconfig.watcher;
+
+import net.lenni0451.optconfig.ConfigContext;
+import net.lenni0451.optconfig.ConfigLoader;
+import net.lenni0451.optconfig.annotations.OptConfig;
+import net.lenni0451.optconfig.annotations.Option;
+import net.lenni0451.optconfig.provider.ConfigProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConfigWatcherTest {
+
+    @Test
+    void reloadOnChange(@TempDir final Path dir) throws Throwable {
+        Path file = dir.resolve("config.yml");
+        ConfigLoader<Config> loader = new ConfigLoader<>(Config.class);
+        ConfigContext<Config> context = loader.load(ConfigProvider.path(file));
+        ConfigContext<Config> marker = loader.load(ConfigProvider.path(dir.resolve("marker.yml")));
+        AtomicInteger reloads = new AtomicInteger();
+        try (ConfigWatcher watcher = new ConfigWatcher(Duration.ofMillis(50), task -> {
+            reloads.incrementAndGet();
+            task.run();
+        })) {
+            watcher.register(context);
+            watcher.register(marker);
+            watcher.start();
+            assertThrows(IllegalStateException.class, watcher::start);
+
+            //Saving through the context must not trigger a reload
+            context.getConfigInstance().value = 5;
+            context.save();
+            //Events are handled in order, so the save has been handled once the marker file written afterward has been reloaded
+            Files.writeString(dir.resolve("marker.yml"), "value: 1\n");
+            awaitValue(marker, 1);
+            assertEquals(1, reloads.get());
+            assertEquals(5, context.getConfigInstance().value);
+
+            Files.writeString(file, "value: 123\n");
+            awaitValue(context, 123);
+            assertEquals(2, reloads.get());
+        }
+    }
+
+    private static void awaitValue(final ConfigContext<Config> context, final int value) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 10_000;
+        while (context.getConfigInstance().value != value && System.currentTimeMillis() < timeout) Thread.sleep(10);
+        assertEquals(value, context.getConfigInstance().value);
+    }
+
+    @OptConfig
+    public static class Config {
+        @Option("value")
+        public int value = 0;
+    }
+
+}
@@ -0,0 +1,496 @@
+package net.lenni0451.optconfig.processor;
+
+import javax.annotation.Nullable;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates the source code of the class access for a single class.<br>
+ * All members which are accessible from the package of the class are accessed directly.
+ * Everything else (e.g. private members or members using inaccessible types) is looked up using reflection at runtime.
+ */
+class ClassAccessGenerator {
+
+    private static final String SUFFIX = "$$OptConfigAccess";
+    private static final int VERSION = 1;
+    private static final String BASE_PACKAGE = "net.lenni0451.optconfig.";
+    private static final String GENERATED_CLASS_ACCESS = BASE_PACKAGE + "access.impl.generated.GeneratedClassAccess";
+    private static final String CLASS_ACCESS_FACTORY = BASE_PACKAGE + "access.ClassAccessFactory";
+    private static final String CONSTRUCTOR_ACCESS = BASE_PACKAGE + "access.types.ConstructorAccess";
+    private static final String FIELD_ACCESS = BASE_PACKAGE + "access.types.FieldAccess";
+    private static final String METHOD_ACCESS = BASE_PACKAGE + "access.types.MethodAccess";
+    private static final String GENERICS = BASE_PACKAGE + "utils.generics.Generics";
+    private static final String ANNOTATION = "java.lang.annotation.Annotation";
+    private static final String INDENT = "                ";
+
+    private final Elements elements;
+    private final Types types;
+    private final TypeElement type;
+    private final String packageName;
+    private final String className;
+    private final String generatedSimpleName;
+    private final Map<TypeElement, String> annotationImplementations = new LinkedHashMap<>();
+
+    ClassAccessGenerator(final ProcessingEnvironment processingEnv, final TypeElement type) {
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.type = type;
+        this.packageName = this.elements.getPackageOf(type).getQualifiedName().toString();
+        this.className = type.getQualifiedName().toString();
+        String binaryName = this.elements.getBinaryName(type).toString();
+        this.generatedSimpleName = (this.packageName.isEmpty() ? binaryName : binaryName.substring(this.packageName.length() + 1)) + SUFFIX;
+    }
+
+    /**
+     * @return If the class can be referenced from the generated class
+     */
+    boolean canGenerate() {
+        return this.isAccessible(this.type);
+    }
+
+    /**
+     * @return The fully qualified name of the generated class
+     */
+    String getGeneratedName() {
+        return this.packageName.isEmpty() ? this.generatedSimpleName : this.packageName + "." + this.generatedSimpleName;
+    }
+
+    String generate() {
+        //The bodies are generated first, so all used annotation types are known when the annotation implementations are generated
+        String constructors = this.generateConstructors();
+        String fields = this.generateFields();
+        String methods = this.generateMethods();
+        String innerClasses = this.generateInnerClasses();
+        List<String> annotations = this.generateAnnotations(this.type);
+
+        StringBuilder out = new StringBuilder();
+        if (!this.packageName.isEmpty()) out.append("package ").append(this.packageName).append(";\n\n");
+        out.append("@javax.annotation.processing.Generated(\"").append(OptConfigProcessor.class.getName()).append("\")\n");
+        out.append("@SuppressWarnings({\"unchecked\", \"rawtypes\", \"deprecation\", \"removal\"})\n");
+        out.append("public final class ").append(this.generatedSimpleName).append(" extends ").append(GENERATED_CLASS_ACCESS).append(" {\n\n");
+
+        out.append("    public ").append(this.generatedSimpleName).append("(final ").append(CLASS_ACCESS_FACTORY).append(" classAccessFactory) {\n");
+        out.append("        super(").append(this.className).append(".class, classAccessFactory);\n");
+        out.append("    }\n\n");
+        out.append("    @Override\n");
+        out.append("    public int getVersion() {\n");
+        out.append("        return ").append(VERSION).append(";\n");
+        out.append("    }\n\n");
+        this.appendFactoryMethod(out, CONSTRUCTOR_ACCESS + "[]", "createConstructors", constructors);
+        this.appendFactoryMethod(out, FIELD_ACCESS + "[]", "createFields", fields);
+        this.appendFactoryMethod(out, METHOD_ACCESS + "[]", "createMethods", methods);
+        this.appendFactoryMethod(out, "Class<?>[]", "createInnerClasses", innerClasses);
+        if (annotations == null) {
+            //At least one annotation can't be created without reflection
+            this.appendFactoryMethod(out, ANNOTATION + "[]", "createAnnotations", "this.getClazz().getDeclaredAnnotations()");
+        } else {
+            this.appendFactoryMethod(out, ANNOTATION + "[]", "createAnnotations", this.array(ANNOTATION + "[]", annotations));
+        }
+
+        for (Map.Entry<TypeElement, String> entry : this.annotationImplementations.entrySet()) {
+            this.appendAnnotationImplementation(out, entry.getKey(), entry.getValue());
+        }
+        out.append("}\n");
+        return out.toString();
+    }
+
+    private void appendFactoryMethod(final StringBuilder out, final String returnType, final String name, final String body) {
+        out.append("    @Override\n");
+        out.append("    protected ").append(returnType).append(" ").append(name).append("() throws ReflectiveOperationException {\n");
+        out.append("        return ").append(body).append(";\n");
+        out.append("    }\n\n");
+    }
+
+    private String generateConstructors() {
+        boolean instantiable = !this.type.getModifiers().contains(Modifier.ABSTRACT) && !this.isInnerClass(this.type);
+        List<String> constructors = new ArrayList<>();
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(this.type.getEnclosedElements())) {
+            List<? extends VariableElement> parameters = constructor.getParameters();
+            if (instantiable && this.isDirectlyAccessible(constructor)) {
+                constructors.add("this.constructor(" + this.parameterTypes(parameters, false) + ", args -> new " + this.className + "(" + this.arguments(parameters) + "))");
+            } else {
+                constructors.add("this.reflectedConstructor(" + this.parameterTypes(parameters, this.isInnerClass(this.type)) + ")");
+            }
+        }
+        return this.array(CONSTRUCTOR_ACCESS + "[]", constructors);
+    }
+
+    private String generateFields() {
+        List<String> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(this.type.getEnclosedElements())) {
+            String name = field.getSimpleName().toString();
+            List<String> annotations = this.generateAnnotations(field);
+            if (field.getModifiers().contains(Modifier.PRIVATE) || !this.isAccessible(field.asType()) || annotations == null) {
+                fields.add("this.reflectedField(" + this.elements.getConstantExpression(name) + ")");
+                continue;
+            }
+
+            String owner = field.getModifiers().contains(Modifier.STATIC) ? this.className : "((" + this.className + ") instance)";
+            String genericType = this.genericType(field.asType());
+            String setter = "null";
+            if (!field.getModifiers().contains(Modifier.FINAL)) setter = "(instance, value) -> " + owner + "." + name + " = (" + this.typeName(field.asType()) + ") value";
+            fields.add("this.field(" + this.elements.getConstantExpression(name)
+                    + ", " + this.classLiteral(field.asType())
+                    + ", " + (genericType == null ? "null" : genericType)
+                    + ", " + this.modifiers(field.getModifiers())
+                    + ", instance -> " + owner + "." + name
+                    + ", " + setter
+                    + (annotations.isEmpty() ? "" : ", " + String.join(", ", annotations)) + ")");
+        }
+        return this.array(FIELD_ACCESS + "[]", fields);
+    }
+
+    private String generateMethods() {
+        List<String> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(this.type.getEnclosedElements())) {
+            String name = method.getSimpleName().toString();
+            List<? extends VariableElement> parameters = method.getParameters();
+            List<String> annotations = this.generateAnnotations(method);
+            if (!this.isDirectlyAccessible(method) || !this.isAccessible(method.getReturnType()) || annotations == null) {
+                methods.add("this.reflectedMethod(" + this.elements.getConstantExpression(name) + ", " + this.parameterTypes(parameters, false) + ")");
+                continue;
+            }
+
+            String owner = method.getModifiers().contains(Modifier.STATIC) ? this.className : "((" + this.className + ") instance)";
+            String call = owner + "." + name + "(" + this.arguments(parameters) + ")";
+            String invoker;
+            if (method.getReturnType().getKind() == TypeKind.VOID) invoker = "(instance, args) -> {\n" + INDENT + "    " + call + ";\n" + INDENT + "    return null;\n" + INDENT + "}";
+            else invoker = "(instance, args) -> " + call;
+            methods.add("this.method(" + this.elements.getConstantExpression(name)
+                    + ", " + this.classLiteral(method.getReturnType())
+                    + ", " + this.parameterTypes(parameters, false)
+                    + ", " + this.modifiers(method.getModifiers())
+                    + ", " + invoker
+                    + (annotations.isEmpty() ? "" : ", " + String.join(", ", annotations)) + ")");
+        }
+        return this.array(METHOD_ACCESS + "[]", methods);
+    }
+
+    private String generateInnerClasses() {
+        List<String> innerClasses = new ArrayList<>();
+        for (TypeElement innerClass : ElementFilter.typesIn(this.type.getEnclosedElements())) {
+            innerClasses.add(this.classLiteral(innerClass.asType()));
+        }
+        return this.array("Class<?>[]", innerClasses);
+    }
+
+    /**
+     * Generate the runtime visible annotations of an element.
+     *
+     * @param element The element to generate the annotations for
+     * @return The annotation instances or null if at least one annotation can't be generated
+     */
+    @Nullable
+    private List<String> generateAnnotations(final Element element) {
+        List<String> annotations = new ArrayList<>();
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            Retention retention = annotationType.getAnnotation(Retention.class);
+            if (retention == null || retention.value() != RetentionPolicy.RUNTIME) continue;
+
+            String instance = this.annotation(annotation);
+            if (instance == null) return null;
+            annotations.add(instance);
+        }
+        return annotations;
+    }
+
+    @Nullable
+    private String annotation(final AnnotationMirror annotation) {
+        TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+        if (!this.isAccessible(annotationType)) return null;
+
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values = this.elements.getElementValuesWithDefaults(annotation);
+        List<String> arguments = new ArrayList<>();
+        for (ExecutableElement member : ElementFilter.methodsIn(annotationType.getEnclosedElements())) {
+            AnnotationValue value = values.get(member);
+            if (value == null) return null;
+            String argument = this.annotationValue(member.getReturnType(), value);
+            if (argument == null) return null;
+            arguments.add(argument);
+        }
+        String implementation = this.annotationImplementations.computeIfAbsent(annotationType, t -> "Annotation" + this.annotationImplementations.size());
+        return "new " + implementation + "(" + String.join(", ", arguments) + ")";
+    }
+
+    @Nullable
+    private String annotationValue(final TypeMirror type, final AnnotationValue value) {
+        Object object = value.getValue();
+        if (type instanceof ArrayType arrayType) {
+            if (!(object instanceof List<?> values)) return null;
+            List<String> entries = new ArrayList<>();
+            for (Object entry : values) {
+                String generated = this.annotationValue(arrayType.getComponentType(), (AnnotationValue) entry);
+                if (generated == null) return null;
+                entries.add(generated);
+            }
+            return "new " + this.typeName(arrayType) + "{" + String.join(", ", entries) + "}";
+        } else if (object instanceof TypeMirror typeMirror) {
+            return this.classLiteral(typeMirror);
+        } else if (object instanceof VariableElement enumConstant) {
+            TypeElement enumType = (TypeElement) enumConstant.getEnclosingElement();
+            if (!this.isAccessible(enumType)) return null;
+            return enumType.getQualifiedName() + "." + enumConstant.getSimpleName();
+        } else if (object instanceof AnnotationMirror annotation) {
+            return this.annotation(annotation);
+        } else {
+            return this.elements.getConstantExpression(object);
+        }
+    }
+
+    private void appendAnnotationImplementation(final StringBuilder out, final TypeElement annotationType, final String name) {
+        String annotationName = annotationType.getQualifiedName().toString();
+        List<ExecutableElement> members = ElementFilter.methodsIn(annotationType.getEnclosedElements());
+        List<String> parameters = new ArrayList<>();
+        for (ExecutableElement member : members) parameters.add("final " + this.typeName(member.getReturnType()) + " " + member.getSimpleName());
+
+        out.append("    private static final class ").append(name).append(" implements ").append(annotationName).append(" {\n\n");
+        for (ExecutableElement member : members) {
+            out.append("        private final ").append(this.typeName(member.getReturnType())).append(" ").append(member.getSimpleName()).append(";\n");
+        }
+        if (!members.isEmpty()) out.append("\n");
+        out.append("        private ").append(name).append("(").append(String.join(", ", parameters)).append(") {\n");
+        for (ExecutableElement member : members) {
+            out.append("            this.").append(member.getSimpleName()).append(" = ").append(member.getSimpleName()).append(";\n");
+        }
+        out.append("        }\n\n");
+        for (ExecutableElement member : members) {
+            //Arrays have to be copied like the annotations created by the jvm do
+            String clone = member.getReturnType().getKind() == TypeKind.ARRAY ? ".clone()" : "";
+            out.append("        @Override\n");
+            out.append("        public ").append(this.typeName(member.getReturnType())).append(" ").append(member.getSimpleName()).append("() {\n");
+            out.append("            return this.").append(member.getSimpleName()).append(clone).append(";\n");
+            out.append("        }\n\n");
+        }
+        out.append("        @Override\n");
+        out.append("        public Class<? extends ").append(ANNOTATION).append("> annotationType() {\n");
+        out.append("            return ").append(annotationName).append(".class;\n");
+        out.append("        }\n\n");
+        this.appendAnnotationObjectMethods(out, annotationName, members);
+        out.append("    }\n\n");
+    }
+
+    /**
+     * Append {@code equals}, {@code hashCode} and {@code toString} as specified by {@link java.lang.annotation.Annotation}.<br>
+     * This makes the generated annotations interchangeable with the ones created by the jvm.
+     */
+    private void appendAnnotationObjectMethods(final StringBuilder out, final String annotationName, final List<ExecutableElement> members) {
+        List<String> equals = new ArrayList<>();
+        List<String> hashCodes = new ArrayList<>();
+        List<String> toStrings = new ArrayList<>();
+        for (ExecutableElement member : members) {
+            String name = member.getSimpleName().toString();
+            TypeMirror type = member.getReturnType();
+            String value = "this." + name;
+            String other = "other." + name + "()";
+            //The hash code of the member name is constant and can be calculated now
+            String memberHashCode = "(" + (127 * name.hashCode()) + " ^ ";
+            switch (type.getKind()) {
+                case ARRAY -> {
+                    equals.add("java.util.Arrays.equals(" + value + ", " + other + ")");
+                    hashCodes.add(memberHashCode + "java.util.Arrays.hashCode(" + value + "))");
+                }
+                case FLOAT -> {
+                    equals.add("Float.floatToIntBits(" + value + ") == Float.floatToIntBits(" + other + ")");
+                    hashCodes.add(memberHashCode + "Float.hashCode(" + value + "))");
+                }
+                case DOUBLE -> {
+                    equals.add("Double.doubleToLongBits(" + value + ") == Double.doubleToLongBits(" + other + ")");
+                    hashCodes.add(memberHashCode + "Double.hashCode(" + value + "))");
+                }
+                default -> {
+                    if (type.getKind().isPrimitive()) {
+                        equals.add(value + " == " + other);
+                        hashCodes.add(memberHashCode + this.types.boxedClass((PrimitiveType) type).getQualifiedName() + ".hashCode(" + value + "))");
+                    } else {
+                        equals.add(value + ".equals(" + other + ")");
+                        hashCodes.add(memberHashCode + value + ".hashCode())");
+                    }
+                }
+            }
+            if (type.getKind() == TypeKind.ARRAY) toStrings.add("\"" + name + "=\" + java.util.Arrays.toString(" + value + ")");
+            else toStrings.add("\"" + name + "=\" + " + value);
+        }
+
+        out.append("        @Override\n");
+        out.append("        public boolean equals(final Object o) {\n");
+        out.append("            if (this == o) return true;\n");
+        out.append("            if (!(o instanceof ").append(annotationName).append(")) return false;\n");
+        if (members.isEmpty()) {
+            out.append("            return true;\n");
+        } else {
+            out.append("            ").append(annotationName).append(" other = (").append(annotationName).append(") o;\n");
+            out.append("            return ").append(String.join("\n" + INDENT + "&& ", equals)).append(";\n");
+        }
+        out.append("        }\n\n");
+        out.append("        @Override\n");
+        out.append("        public int hashCode() {\n");
+        out.append("            return ").append(hashCodes.isEmpty() ? "0" : String.join("\n" + INDENT + "+ ", hashCodes)).append(";\n");
+        out.append("        }\n\n");
+        out.append("        @Override\n");
+        out.append("        public String toString() {\n");
+        out.append("            return \"@").append(annotationName).append("(\"");
+        if (!toStrings.isEmpty()) out.append(" + ").append(String.join(" + \", \" + ", toStrings));
+        out.append(" + \")\";\n");
+        out.append("        }\n\n");
+    }
+
+    private String parameterTypes(final List<? extends VariableElement> parameters, final boolean outerInstance) {
+        List<String> parameterTypes = new ArrayList<>();
+        //The constructors of inner classes take the outer instance as the first parameter
+        if (outerInstance) parameterTypes.add(this.classLiteral(this.type.getEnclosingElement().asType()));
+        for (VariableElement parameter : parameters) parameterTypes.add(this.classLiteral(parameter.asType()));
+        return "new Class<?>[]{" + String.join(", ", parameterTypes) + "}";
+    }
+
+    private String arguments(final List<? extends VariableElement> parameters) {
+        List<String> arguments = new ArrayList<>();
+        for (int i = 0; i < parameters.size(); i++) {
+            arguments.add("(" + this.typeName(parameters.get(i).asType()) + ") args[" + i + "]");
+        }
+        return String.join(", ", arguments);
+    }
+
+    private String array(final String arrayType, final List<String> entries) {
+        if (entries.isEmpty()) return "new " + arrayType + "{}";
+        return "new " + arrayType + "{\n" + INDENT + String.join(",\n" + INDENT, entries) + "\n        }";
+    }
+
+    /**
+     * Check if a method or constructor can be called directly.<br>
+     * Methods declaring checked exceptions are called using reflection, so the exceptions are not wrapped.
+     */
+    private boolean isDirectlyAccessible(final ExecutableElement executable) {
+        if (executable.getModifiers().contains(Modifier.PRIVATE)) return false;
+        for (VariableElement parameter : executable.getParameters()) {
+            if (!this.isAccessible(parameter.asType())) return false;
+        }
+        TypeMirror runtimeException = this.elements.getTypeElement(RuntimeException.class.getName()).asType();
+        TypeMirror error = this.elements.getTypeElement(Error.class.getName()).asType();
+        for (TypeMirror thrownType : executable.getThrownTypes()) {
+            if (!this.types.isSubtype(thrownType, runtimeException) && !this.types.isSubtype(thrownType, error)) return false;
+        }
+        return true;
+    }
+
+    private boolean isInnerClass(final TypeElement type) {
+        return type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC);
+    }
+
+    private boolean isAccessible(final TypeMirror type) {
+        TypeMirror erased = this.types.erasure(type);
+        if (erased.getKind().isPrimitive() || erased.getKind() == TypeKind.VOID) return true;
+        if (erased instanceof ArrayType arrayType) return this.isAccessible(arrayType.getComponentType());
+        if (erased instanceof DeclaredType declaredType) return this.isAccessible((TypeElement) declaredType.asElement());
+        return false;
+    }
+
+    private boolean isAccessible(final TypeElement type) {
+        Element element = type;
+        while (element instanceof TypeElement typeElement) {
+            if (typeElement.getNestingKind() == NestingKind.LOCAL || typeElement.getNestingKind() == NestingKind.ANONYMOUS) return false;
+            Set<Modifier> modifiers = typeElement.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) return false;
+            if (!modifiers.contains(Modifier.PUBLIC) && !this.elements.getPackageOf(typeElement).getQualifiedName().contentEquals(this.packageName)) {
+                return false;
+            }
+            element = typeElement.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private String typeName(final TypeMirror type) {
+        TypeMirror erased = this.types.erasure(type);
+        if (erased instanceof ArrayType arrayType) return this.typeName(arrayType.getComponentType()) + "[]";
+        if (erased instanceof DeclaredType declaredType) return ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+        return erased.toString();
+    }
+
+    private String classLiteral(final TypeMirror type) {
+        if (this.isAccessible(type)) return this.typeName(type) + ".class";
+        return "this.reflectedClass(" + this.elements.getConstantExpression(this.binaryName(this.types.erasure(type), false)) + ")";
+    }
+
+    private String binaryName(final TypeMirror type, final boolean descriptor) {
+        if (type instanceof ArrayType arrayType) return "[" + this.binaryName(arrayType.getComponentType(), true);
+        if (type instanceof DeclaredType declaredType) {
+            String name = this.elements.getBinaryName((TypeElement) declaredType.asElement()).toString();
+            return descriptor ? "L" + name + ";" : name;
+        }
+        return switch (type.getKind()) {
+            case BOOLEAN -> "Z";
+            case BYTE -> "B";
+            case SHORT -> "S";
+            case CHAR -> "C";
+            case INT -> "I";
+            case LONG -> "J";
+            case FLOAT -> "F";
+            case DOUBLE -> "D";
+            default -> throw new IllegalArgumentException("Unsupported type: " + type);
+        };
+    }
+
+    /**
+     * Generate the expression creating the generic type of a field.
+     *
+     * @param type The type of the field
+     * @return The expression or null if the generic type has to be looked up using reflection
+     */
+    @Nullable
+    private String genericType(final TypeMirror type) {
+        if (type.getKind().isPrimitive()) return this.classLiteral(type);
+        if (type instanceof ArrayType arrayType) {
+            String componentType = this.genericType(arrayType.getComponentType());
+            if (componentType == null) return null;
+            if (componentType.equals(this.classLiteral(arrayType.getComponentType()))) return this.classLiteral(type);
+            return GENERICS + ".arrayOf(" + componentType + ")";
+        }
+        if (!(type instanceof DeclaredType declaredType) || !this.isAccessible(type)) return null;
+        //Types nested in parameterized types are rare enough to not be worth generating
+        if (declaredType.getEnclosingType() instanceof DeclaredType enclosingType && !enclosingType.getTypeArguments().isEmpty()) return null;
+        if (declaredType.getTypeArguments().isEmpty()) return this.classLiteral(type);
+
+        List<String> arguments = new ArrayList<>();
+        for (TypeMirror typeArgument : declaredType.getTypeArguments()) {
+            String argument = this.genericType(typeArgument);
+            if (argument == null) return null;
+            arguments.add(argument);
+        }
+        Element enclosing = declaredType.asElement().getEnclosingElement();
+        String owner = enclosing instanceof TypeElement ? this.classLiteral(enclosing.asType()) : "null";
+        return GENERICS + ".parameterized(" + this.classLiteral(type) + ", " + owner + ", " + String.join(", ", arguments) + ")";
+    }
+
+    private int modifiers(final Set<Modifier> modifiers) {
+        int result = 0;
+        for (Modifier modifier : modifiers) {
+            result |= switch (modifier) {
+                case PUBLIC -> java.lang.reflect.Modifier.PUBLIC;
+                case PROTECTED -> java.lang.reflect.Modifier.PROTECTED;
+                case PRIVATE -> java.lang.reflect.Modifier.PRIVATE;
+                case ABSTRACT -> java.lang.reflect.Modifier.ABSTRACT;
+                case STATIC -> java.lang.reflect.Modifier.STATIC;
+                case FINAL -> java.lang.reflect.Modifier.FINAL;
+                case TRANSIENT -> java.lang.reflect.Modifier.TRANSIENT;
+                case VOLATILE -> java.lang.reflect.Modifier.VOLATILE;
+                case SYNCHRONIZED -> java.lang.reflect.Modifier.SYNCHRONIZED;
+                case NATIVE -> java.lang.reflect.Modifier.NATIVE;
+                case STRICTFP -> java.lang.reflect.Modifier.STRICT;
+                default -> 0;
+            };
+        }
+        return result;
+    }
+
+}
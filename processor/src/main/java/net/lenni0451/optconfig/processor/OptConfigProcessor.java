@@ -0,0 +1,171 @@
+package net.lenni0451.optconfig.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * An annotation processor generating the class accesses for all config classes at compile time.<br>
+ * The generated classes access the config classes directly, so no reflection is required to load a config.
+ * They are picked up automatically by the default class access factory of optconfig.<br>
+ * Class accesses are generated for all {@code @OptConfig} and {@code @Section} classes,
+ * as well as for the type serializers and migrators they reference.<br>
+ * <br>
+ * Additionally, a {@code reflect-config.json} is generated for GraalVM native images.
+ * It registers all config classes, type serializers, migrators and generated class accesses for reflection.<br>
+ * The file is written to {@code META-INF/native-image/<path>/reflect-config.json}.
+ * The path is set using the {@code optconfig.nativeImagePath} option and has to be unique for every project (e.g. {@code group/artifact}),
+ * otherwise the files of different jars would shadow each other. If the option is missing, no file is written and a warning is emitted.<br>
+ * <br>
+ * The processor is an aggregating incremental processor for Gradle.
+ * All config classes are processed in every compilation, so the generated files are always complete.
+ */
+@SupportedAnnotationTypes({OptConfigProcessor.OPT_CONFIG, OptConfigProcessor.SECTION})
+@SupportedOptions(OptConfigProcessor.NATIVE_IMAGE_PATH)
+public class OptConfigProcessor extends AbstractProcessor {
+
+    static final String OPT_CONFIG = "net.lenni0451.optconfig.annotations.OptConfig";
+    static final String SECTION = "net.lenni0451.optconfig.annotations.Section";
+    static final String TYPE_SERIALIZER = "net.lenni0451.optconfig.annotations.TypeSerializer";
+    static final String MIGRATOR = "net.lenni0451.optconfig.annotations.Migrator";
+    static final String MIGRATORS = "net.lenni0451.optconfig.annotations.internal.Migrators";
+    static final String NATIVE_IMAGE_PATH = "optconfig.nativeImagePath";
+
+    private final Set<String> generated = new HashSet<>();
+    private final ReflectConfig reflectConfig = new ReflectConfig();
+    private final List<Element> reflectedElements = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        Set<TypeElement> rootTypes = new HashSet<>();
+        for (Element element : roundEnv.getRootElements()) {
+            if (element instanceof TypeElement typeElement) rootTypes.add(typeElement);
+        }
+        Set<TypeElement> types = new LinkedHashSet<>();
+        //All config classes have to be collected, not only the ones using annotations of the current sources
+        //On incremental compiles the unchanged config classes are passed as compiled classes and the reflect config is written from scratch
+        for (String annotationName : List.of(OPT_CONFIG, SECTION)) {
+            TypeElement annotation = this.processingEnv.getElementUtils().getTypeElement(annotationName);
+            if (annotation == null) continue;
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) continue;
+                TypeElement type = (TypeElement) element;
+                types.add(type);
+                Set<TypeElement> referencedTypes = new LinkedHashSet<>();
+                this.collectReferencedTypes(type, referencedTypes);
+                for (TypeElement referencedType : referencedTypes) {
+                    //Referenced types from libraries only have to be registered for reflection
+                    if (rootTypes.contains(this.getOutermostType(referencedType))) types.add(referencedType);
+                    else this.reflectConfig.addClass(this.processingEnv.getElementUtils().getBinaryName(referencedType).toString());
+                }
+            }
+        }
+        for (TypeElement type : types) this.generate(type);
+        if (roundEnv.processingOver()) this.writeReflectConfig();
+        return false;
+    }
+
+    /**
+     * Collect the type serializers and migrators referenced by a config class.
+     */
+    private void collectReferencedTypes(final TypeElement type, final Set<TypeElement> types) {
+        List<AnnotationMirror> annotations = new ArrayList<>(type.getAnnotationMirrors());
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.FIELD) annotations.addAll(member.getAnnotationMirrors());
+        }
+        for (AnnotationMirror annotation : annotations) {
+            String name = ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+            switch (name) {
+                case TYPE_SERIALIZER -> this.addReferencedType(annotation, "value", types);
+                case MIGRATOR -> this.addReferencedType(annotation, "migrator", types);
+                case MIGRATORS -> {
+                    if (!(this.getValue(annotation, "value") instanceof List<?> migrators)) continue;
+                    for (Object migrator : migrators) {
+                        this.addReferencedType((AnnotationMirror) ((AnnotationValue) migrator).getValue(), "migrator", types);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    private void addReferencedType(final AnnotationMirror annotation, final String member, final Set<TypeElement> types) {
+        if (!(this.getValue(annotation, member) instanceof DeclaredType declaredType)) return;
+        TypeElement type = (TypeElement) declaredType.asElement();
+        if (type.getKind() == ElementKind.CLASS) types.add(type);
+    }
+
+    private Object getValue(final AnnotationMirror annotation, final String member) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(member)) return entry.getValue().getValue();
+        }
+        return null;
+    }
+
+    private TypeElement getOutermostType(final TypeElement type) {
+        TypeElement outermost = type;
+        while (outermost.getEnclosingElement() instanceof TypeElement enclosing) outermost = enclosing;
+        return outermost;
+    }
+
+    private void generate(final TypeElement type) {
+        String binaryName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+        if (!this.generated.add(binaryName)) return;
+        //Private members and classes without generated access are still accessed using reflection
+        this.reflectConfig.addClass(binaryName);
+        this.reflectedElements.add(type);
+
+        ClassAccessGenerator generator = new ClassAccessGenerator(this.processingEnv, type);
+        if (!generator.canGenerate()) {
+            //The class can't be referenced from the generated class, reflection is used at runtime
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Skipping class access generation for inaccessible class " + binaryName, type);
+            return;
+        }
+        try {
+            JavaFileObject file = this.processingEnv.getFiler().createSourceFile(generator.getGeneratedName(), type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(generator.generate());
+            }
+            this.reflectConfig.addGeneratedAccess(generator.getGeneratedName());
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write the class access for " + binaryName + ": " + e.getMessage(), type);
+        }
+    }
+
+    private void writeReflectConfig() {
+        if (this.reflectConfig.isEmpty()) return;
+        String path = this.processingEnv.getOptions().get(NATIVE_IMAGE_PATH);
+        if (path == null || path.isBlank()) {
+            //A shared default path would make the files of different jars shadow each other
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "The " + NATIVE_IMAGE_PATH + " option is not set, no reflect-config.json is generated");
+            return;
+        }
+        String fileName = "META-INF/native-image/" + path + "/reflect-config.json";
+        try {
+            FileObject file = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", fileName, this.reflectedElements.toArray(new Element[0]));
+            try (Writer writer = file.openWriter()) {
+                writer.write(this.reflectConfig.toJson());
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + fileName + ": " + e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+package net.lenni0451.optconfig.processor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the classes which have to be registered for reflection in a GraalVM native image.<br>
+ * The result is written in the format of the {@code reflect-config.json} file.
+ */
+class ReflectConfig {
+
+    private static final String CLASS_ACCESS_FACTORY = "net.lenni0451.optconfig.access.ClassAccessFactory";
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * Register all declared members of a class.<br>
+     * This is required for classes which are accessed using reflection (e.g. private members or classes without generated access).
+     *
+     * @param name The binary name of the class
+     */
+    void addClass(final String name) {
+        this.entries.computeIfAbsent(name, n -> new Entry()).allDeclared = true;
+    }
+
+    /**
+     * Register the constructor of a generated class access.<br>
+     * Generated class accesses are loaded using {@link Class#forName(String)} and instantiated using reflection.
+     *
+     * @param name The binary name of the generated class access
+     */
+    void addGeneratedAccess(final String name) {
+        this.entries.computeIfAbsent(name, n -> new Entry()).factoryConstructor = true;
+    }
+
+    boolean isEmpty() {
+        return this.entries.isEmpty();
+    }
+
+    String toJson() {
+        StringBuilder out = new StringBuilder("[");
+        boolean first = true;
+        for (Map.Entry<String, Entry> entry : this.entries.entrySet()) {
+            out.append(first ? "\n" : ",\n");
+            first = false;
+            out.append("  {\n");
+            out.append("    \"name\": ").append(this.quote(entry.getKey()));
+            if (entry.getValue().allDeclared) {
+                out.append(",\n    \"allDeclaredConstructors\": true");
+                out.append(",\n    \"allDeclaredFields\": true");
+                out.append(",\n    \"allDeclaredMethods\": true");
+                out.append(",\n    \"allDeclaredClasses\": true");
+            }
+            if (entry.getValue().factoryConstructor) {
+                out.append(",\n    \"methods\": [\n");
+                out.append("      {\"name\": \"<init>\", \"parameterTypes\": [").append(this.quote(CLASS_ACCESS_FACTORY)).append("]}\n");
+                out.append("    ]");
+            }
+            out.append("\n  }");
+        }
+        return out.append("\n]\n").toString();
+    }
+
+    private String quote(final String s) {
+        //Binary class names can't contain any other characters which would have to be escaped
+        return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+
+    private static class Entry {
+        private boolean allDeclared;
+        private boolean factoryConstructor;
+    }
+
+}
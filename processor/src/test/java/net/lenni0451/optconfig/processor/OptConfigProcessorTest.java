@@ -0,0 +1,228 @@
+package net.lenni0451.optconfig.processor;
+
+import net.lenni0451.optconfig.ConfigContext;
+import net.lenni0451.optconfig.ConfigLoader;
+import net.lenni0451.optconfig.access.ClassAccessFactory;
+import net.lenni0451.optconfig.access.impl.generated.GeneratedClassAccess;
+import net.lenni0451.optconfig.access.impl.generated.GeneratedClassAccessFactory;
+import net.lenni0451.optconfig.access.impl.reflection.ReflectionClassAccess;
+import net.lenni0451.optconfig.annotations.OptConfig;
+import net.lenni0451.optconfig.annotations.internal.Migrators;
+import net.lenni0451.optconfig.provider.ConfigProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.*;
+import java.io.File;
+import java.lang.annotation.Annotation;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptConfigProcessorTest {
+
+    private static final String SOURCE = """
+            package test;
+
+            import net.lenni0451.optconfig.annotations.*;
+            import net.lenni0451.optconfig.migrate.ConfigMigrator;
+
+            import java.util.*;
+
+            @OptConfig(header = "Generated", version = 3)
+            @Migrator(from = 1, to = 2, migrator = TestConfig.Migrate.class)
+            @Migrator(from = 2, to = 3, migrator = TestConfig.Migrate.class)
+            public class TestConfig {
+
+                @Option("name")
+                @Description("The name")
+                public String name = "default";
+
+                @Option
+                public List<String> list = new ArrayList<>(List.of("a"));
+
+                @Option
+                private int hidden = 5;
+
+                @Option
+                public Sub section;
+
+                @Validator("name")
+                public String validate(final String name) {
+                    return name.trim();
+                }
+
+                @Section
+                public static class Sub {
+                    @Option
+                    @Order(1)
+                    public Map<String, Integer> map = new HashMap<>();
+                }
+
+                public static class Migrate implements ConfigMigrator {
+                    @Override
+                    public void migrate(final int currentVersion, final Map<String, Object> loadedValues) {
+                    }
+                }
+
+            }
+            """;
+    private static final String OTHER_SOURCE = """
+            package test;
+
+            import net.lenni0451.optconfig.annotations.*;
+
+            @OptConfig
+            public class OtherConfig {
+
+                @Option
+                public int value = 1;
+
+            }
+            """;
+
+    @TempDir
+    private Path tempDir;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @Test
+    void generatedAccess() throws Throwable {
+        Path classes = this.compile();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, OptConfigProcessorTest.class.getClassLoader())) {
+            Class<?> configClass = loader.loadClass("test.TestConfig");
+            ClassAccessFactory factory = new GeneratedClassAccessFactory(ReflectionClassAccess::new);
+            assertInstanceOf(GeneratedClassAccess.class, factory.create(configClass));
+            assertInstanceOf(GeneratedClassAccess.class, factory.create(loader.loadClass("test.TestConfig$Sub")));
+
+            //The generated annotations have to be interchangeable with the ones created by the jvm
+            for (Class<? extends Annotation> annotationType : List.of(OptConfig.class, Migrators.class)) {
+                Annotation generatedAnnotation = factory.create(configClass).getAnnotation(annotationType);
+                Annotation jvmAnnotation = configClass.getDeclaredAnnotation(annotationType);
+                assertNotSame(jvmAnnotation.getClass(), generatedAnnotation.getClass());
+                assertEquals(jvmAnnotation, generatedAnnotation);
+                assertEquals(generatedAnnotation, jvmAnnotation);
+                assertEquals(jvmAnnotation.hashCode(), generatedAnnotation.hashCode());
+            }
+            assertTrue(factory.create(configClass).getAnnotation(OptConfig.class).toString().contains("version=3"));
+
+            String content = """
+                    name: ' test '
+                    hidden: 7
+                    section:
+                      map:
+                        a: 1
+                    """;
+            AtomicReference<String> generated = new AtomicReference<>(content);
+            ConfigLoader<?> generatedLoader = new ConfigLoader<>(configClass);
+            ConfigContext<?> context = generatedLoader.load(provider(generated));
+            Object config = context.getConfigInstance();
+            assertEquals("test", configClass.getField("name").get(config));
+            assertEquals(List.of("a"), configClass.getField("list").get(config));
+            Object section = configClass.getField("section").get(config);
+            assertEquals(Map.of("a", 1), section.getClass().getField("map").get(section));
+
+            //The generated accesses have to behave exactly like reflection
+            AtomicReference<String> reflected = new AtomicReference<>(content);
+            ConfigLoader<?> reflectionLoader = new ConfigLoader<>(configClass);
+            reflectionLoader.getConfigOptions().setClassAccessFactory(ReflectionClassAccess::new);
+            reflectionLoader.load(provider(reflected));
+            assertEquals(reflected.get(), generated.get());
+        }
+    }
+
+    @Test
+    void partialRecompile() throws Exception {
+        String nativeImagePath = "-A" + OptConfigProcessor.NATIVE_IMAGE_PATH + "=test/config";
+        Path classes = this.compile("full", List.of(), Map.of("TestConfig", SOURCE, "OtherConfig", OTHER_SOURCE), List.of(), nativeImagePath);
+        //Aggregating processors get all annotated classes, unchanged ones are passed as compiled classes
+        //All generated files are deleted before the recompile, so they have to be generated again
+        Path recompiled = this.compile("partial", List.of(classes), Map.of("OtherConfig", OTHER_SOURCE), List.of("test.TestConfig"), nativeImagePath);
+        Path sources = this.tempDir.resolve("partial").resolve("sources");
+        assertTrue(Files.exists(sources.resolve("test/TestConfig$$OptConfigAccess.java")));
+        assertTrue(Files.exists(sources.resolve("test/TestConfig$Sub$$OptConfigAccess.java")));
+        assertTrue(Files.exists(sources.resolve("test/OtherConfig$$OptConfigAccess.java")));
+        assertTrue(Files.exists(recompiled.resolve("test/TestConfig$$OptConfigAccess.class")));
+
+        //The reflect config has to contain the unchanged classes as well
+        String reflectConfig = Files.readString(recompiled.resolve("META-INF/native-image/test/config/reflect-config.json"));
+        assertTrue(reflectConfig.contains("\"name\": \"test.TestConfig\""));
+        assertTrue(reflectConfig.contains("\"name\": \"test.TestConfig$Sub\""));
+        assertTrue(reflectConfig.contains("\"name\": \"test.TestConfig$Migrate\""));
+        assertTrue(reflectConfig.contains("\"name\": \"test.OtherConfig\""));
+    }
+
+    @Test
+    void reflectConfig() throws Exception {
+        Path classes = this.compile("-A" + OptConfigProcessor.NATIVE_IMAGE_PATH + "=test/config");
+        String reflectConfig = Files.readString(classes.resolve("META-INF/native-image/test/config/reflect-config.json"));
+        assertTrue(reflectConfig.contains("\"name\": \"test.TestConfig\",\n    \"allDeclaredConstructors\": true"));
+        assertTrue(reflectConfig.contains("\"name\": \"test.TestConfig$Sub\""));
+        assertTrue(reflectConfig.contains("\"name\": \"test.TestConfig$Migrate\""));
+        assertTrue(reflectConfig.contains("\"name\": \"test.TestConfig$$OptConfigAccess\",\n    \"methods\""));
+    }
+
+    @Test
+    void missingNativeImagePath() throws Exception {
+        Path classes = this.compile();
+        assertFalse(Files.exists(classes.resolve("META-INF/native-image")));
+        assertTrue(this.diagnostics.getDiagnostics().stream().anyMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.WARNING
+                && diagnostic.getMessage(null).contains(OptConfigProcessor.NATIVE_IMAGE_PATH)));
+    }
+
+    private Path compile(final String... extraOptions) throws Exception {
+        Path classes = this.compile("", List.of(), Map.of("TestConfig", SOURCE), List.of(), extraOptions);
+        Path sources = this.tempDir.resolve("sources");
+        assertTrue(Files.exists(sources.resolve("test/TestConfig$$OptConfigAccess.java")));
+        assertTrue(Files.exists(sources.resolve("test/TestConfig$Sub$$OptConfigAccess.java")));
+        return classes;
+    }
+
+    private Path compile(final String name, final List<Path> classpath, final Map<String, String> sourceFiles, final List<String> classNames, final String... extraOptions) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Path classes = Files.createDirectories(this.tempDir.resolve(name).resolve("classes"));
+        Path sources = Files.createDirectories(this.tempDir.resolve(name).resolve("sources"));
+        List<String> classpathEntries = new ArrayList<>();
+        classpathEntries.add(codeSource(GeneratedClassAccess.class));
+        for (Path entry : classpath) classpathEntries.add(entry.toString());
+        List<String> options = new ArrayList<>(List.of(
+                "-classpath", String.join(File.pathSeparator, classpathEntries),
+                "-processorpath", codeSource(OptConfigProcessor.class),
+                "-processor", OptConfigProcessor.class.getName(),
+                "-d", classes.toString(),
+                "-s", sources.toString()
+        ));
+        options.addAll(List.of(extraOptions));
+        List<JavaFileObject> compilationUnits = new ArrayList<>();
+        for (Map.Entry<String, String> sourceFile : sourceFiles.entrySet()) {
+            compilationUnits.add(new SimpleJavaFileObject(URI.create("string:///test/" + sourceFile.getKey() + ".java"), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                    return sourceFile.getValue();
+                }
+            });
+        }
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        this.diagnostics = diagnostics;
+        boolean success = compiler.getTask(null, null, diagnostics, options, classNames.isEmpty() ? null : classNames, compilationUnits).call();
+        assertTrue(success, () -> diagnostics.getDiagnostics().toString());
+        return classes;
+    }
+
+    private static String codeSource(final Class<?> clazz) throws Exception {
+        return Path.of(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+    }
+
+    private static ConfigProvider provider(final AtomicReference<String> content) {
+        return ConfigProvider.memory(() -> content.get().getBytes(StandardCharsets.UTF_8), bytes -> content.set(new String(bytes, StandardCharsets.UTF_8)));
+    }
+
+}